@@ -8,6 +8,22 @@
  */
 package cryptator;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 import cryptator.config.CryptatorConfig;
 import cryptator.json.SolveInput;
 import cryptator.json.SolveOutput;
@@ -21,19 +37,24 @@ import cryptator.tree.TreeUtils;
 
 public final class CryptaJson {
 
+    /** The parser of each thread. */
+    private static final ThreadLocal<CryptaParserWrapper> PARSERS = ThreadLocal.withInitial(CryptaParserWrapper::new);
+
+    /** The solver of each thread. */
+    private static final ThreadLocal<ICryptaSolver> SOLVERS = ThreadLocal.withInitial(() -> new AdaptiveSolver(false));
+
     private CryptaJson() {
         super();
     }
 
     public static SolveOutput solve(final SolveInput input) throws CryptaModelException, CryptaSolverException {
-        final CryptaParserWrapper parser = new CryptaParserWrapper();
-        final ICryptaNode node = parser.parse(input.getCryptarithm());
+        final ICryptaNode node = PARSERS.get().parse(input.getCryptarithm());
         final CryptatorConfig config = input.getConfig();
 
         final SolveOutput output = new SolveOutput(input);
         output.setSymbols(TreeUtils.computeSymbols(node));
 
-        final ICryptaSolver solver = new AdaptiveSolver(false);
+        final ICryptaSolver solver = SOLVERS.get();
         solver.limitSolution(config.getSolutionLimit());
         solver.limitTime(config.getTimeLimit());
         solver.solve(node, input.getConfig(), s -> output.accept(node, s));
@@ -41,4 +62,132 @@ public final class CryptaJson {
         return output;
     }
 
+    private static SolveOutput solveUnchecked(final SolveInput input) {
+        try {
+            return solve(input);
+        } catch (CryptaModelException | CryptaSolverException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Solve a stream of inputs in order with one thread per available processor.
+     *
+     * @param inputs the inputs
+     * @return the stream of outputs
+     * @see #solveAll(Stream, int, boolean)
+     */
+    public static Stream<SolveOutput> solveAll(final Stream<SolveInput> inputs) {
+        return solveAll(inputs, Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    /**
+     * Solve a stream of inputs in parallel.
+     *
+     * The inputs are consumed lazily, and at most twice the parallelism of them
+     * are solved or waiting for being consumed. Each thread reuses its parser and
+     * solver. The threads are released when the outputs are exhausted or the
+     * stream is closed.
+     *
+     * A modeling or solving failure is thrown by the output stream as a
+     * {@link CompletionException}.
+     *
+     * @param inputs      the inputs
+     * @param parallelism the number of threads (sequential if lower than 2)
+     * @param ordered     true, if the outputs are in the order of the inputs, or
+     *                    else in the order of completion
+     * @return the stream of outputs
+     */
+    public static Stream<SolveOutput> solveAll(final Stream<SolveInput> inputs, final int parallelism,
+            final boolean ordered) {
+        if (parallelism < 2) {
+            return inputs.sequential().map(CryptaJson::solveUnchecked);
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism, r -> {
+            final Thread thread = new Thread(r, "json-solver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Iterator<SolveOutput> outputs = new SolveIterator(inputs.iterator(), executor, 2 * parallelism,
+                ordered);
+        final int characteristics = Spliterator.NONNULL | (ordered ? Spliterator.ORDERED : 0);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(outputs, characteristics), false)
+                .onClose(() -> {
+                    executor.shutdownNow();
+                    inputs.close();
+                });
+    }
+
+    /**
+     * The Class SolveIterator submits the inputs to an executor within a bounded
+     * window and returns the outputs.
+     */
+    private static final class SolveIterator implements Iterator<SolveOutput> {
+
+        private final Iterator<SolveInput> inputs;
+
+        private final ExecutorService executor;
+
+        private final CompletionService<SolveOutput> service;
+
+        private final int window;
+
+        private final boolean ordered;
+
+        /** The outputs in the order of the inputs. */
+        private final Deque<Future<SolveOutput>> pending = new ArrayDeque<>();
+
+        SolveIterator(final Iterator<SolveInput> inputs, final ExecutorService executor, final int window,
+                final boolean ordered) {
+            super();
+            this.inputs = inputs;
+            this.executor = executor;
+            this.service = ordered ? null : new ExecutorCompletionService<>(executor);
+            this.window = window;
+            this.ordered = ordered;
+        }
+
+        private void fill() {
+            while (pending.size() < window && inputs.hasNext()) {
+                final SolveInput input = inputs.next();
+                pending.add(ordered ? executor.submit(() -> solve(input)) : service.submit(() -> solve(input)));
+            }
+            if (pending.isEmpty()) {
+                executor.shutdown();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public SolveOutput next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                final Future<SolveOutput> future;
+                if (ordered) {
+                    future = pending.poll();
+                } else {
+                    future = service.take();
+                    pending.remove(future);
+                }
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                throw new CompletionException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new CompletionException(e.getCause());
+            }
+        }
+    }
+
 }
@@ -91,6 +91,100 @@ public enum CryptaOperator {
         return q;
     }
 
+    private static long toLong(final boolean b) {
+        return b ? 1 : 0;
+    }
+
+    private static long powExact(final long a, final long b) {
+        if (b < 0 || b > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Invalid exponent for a long power.");
+        }
+        long r = 1;
+        long x = a;
+        long e = b;
+        while (e > 0) {
+            if ((e & 1) != 0) {
+                r = Math.multiplyExact(r, x);
+            }
+            e >>= 1;
+            if (e > 0) {
+                // An overflow of the square implies an overflow of the result.
+                x = Math.multiplyExact(x, x);
+            }
+        }
+        return r;
+    }
+
+    private static long divExact(final long a, final long b) {
+        if (a == Long.MIN_VALUE && b == -1) {
+            throw new ArithmeticException("long overflow");
+        }
+        return a / b;
+    }
+
+    private static long fdivExact(final long a, final long b) {
+        if (a % b == 0) {
+            return divExact(a, b);
+        } else {
+            throw new ArithmeticException("The remainder of the division is non-zero.");
+        }
+    }
+
+    private static long modExact(final long a, final long b) {
+        if (b <= 0) {
+            throw new ArithmeticException("BigInteger: modulus not positive");
+        }
+        return Math.floorMod(a, b);
+    }
+
+    /**
+     * Apply the operator on long values.
+     *
+     * It returns the same value than the function on big integers, or throws an
+     * arithmetic exception if the result overflows or is undefined.
+     *
+     * @param a the left operand
+     * @param b the right operand
+     * @return the result of the operator
+     * @throws ArithmeticException if the result overflows or is undefined
+     */
+    public long applyExact(final long a, final long b) {
+        switch (this) {
+        case ADD:
+            return Math.addExact(a, b);
+        case SUB:
+            return Math.subtractExact(a, b);
+        case MUL:
+            return Math.multiplyExact(a, b);
+        case DIV:
+            return divExact(a, b);
+        case FDIV:
+            return fdivExact(a, b);
+        case MOD:
+            return modExact(a, b);
+        case POW:
+            return powExact(a, b);
+        case ID:
+            return 0;
+        case EQ:
+            return toLong(a == b);
+        case NE:
+            return toLong(a != b);
+        case LT:
+            return toLong(a < b);
+        case GT:
+            return toLong(a > b);
+        case LE:
+            return toLong(a <= b);
+        case GE:
+            return toLong(a >= b);
+        case AND:
+            return toLong(a != 0 && b != 0);
+        default:
+            throw new ArithmeticException("Unknown operator: " + this);
+        }
+    }
+
     public String getToken() {
         return token;
     }
@@ -9,17 +9,16 @@
 package cryptator;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 import java.util.OptionalInt;
-import java.util.Scanner;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import cryptator.cmd.CryptaBiConsumer;
 import cryptator.cmd.OptionsParserWithLog;
 import cryptator.cmd.WordArray;
+import cryptator.cmd.WordListReader;
 import cryptator.config.CryptagenConfig;
 import cryptator.gen.CryptaListGenerator;
 import cryptator.solver.CryptaModelException;
@@ -57,40 +56,48 @@ public final class Cryptagen {
 		}
 	}
 
-	private static void readWords(final List<String> words, final String argument) {
+	private static void readWords(final WordListReader reader, final String argument) {
 		final File file = new File(argument);
-		if (file.canRead()) {
-			try (Scanner s = new Scanner(file)) {
-				while (s.hasNext()) {
-					words.add(s.next());
-				}
-			} catch (FileNotFoundException e) {
+		if (file.isFile() && file.canRead()) {
+			try {
+				reader.read(file.toPath());
+			} catch (IOException e) {
 				LOGGER.log(Level.SEVERE, "cant read words in file", e);
 			}
 		} else {
-			words.add(argument);
+			reader.add(argument);
 		}
 	}
 
-	private static WordArray buildWords(final List<String> arguments, final CryptagenConfig config) {
-		// Read words from arguments and files
-		final List<String> words = new ArrayList<>();
-		for (String argument : arguments) {
-			readWords(words, argument);
+	private static WordListReader buildReader(final CryptagenConfig config) {
+		final WordListReader reader = new WordListReader();
+		if (config.isNormalizeWords()) {
+			reader.withNormalization();
 		}
+		// A word with more symbols than digits is never part of a cryptarithm.
+		return reader.withLengthFilter(config.getMinLength(), config.getMaxLength())
+				.withSymbolFilter(config.getArithmeticBase());
+	}
+
+	private static WordArray buildWords(final List<String> arguments, final CryptagenConfig config) {
 		// Handle doubly true word list
-		if (words.size() == 2) {
+		if (arguments.size() == 2) {
 			try {
-				final int lb = Integer.parseInt(words.get(0));
-				final int ub = Integer.parseInt(words.get(1));
-				return new WordArray(config.getCountryCode(), config.getLangCode(), lb, ub);
+				final int lb = Integer.parseInt(arguments.get(0));
+				final int ub = Integer.parseInt(arguments.get(1));
+				return new WordArray(config.getCountryCode(), config.getLangCode(), lb, ub, config.getSpellOutMemo());
 			} catch (NumberFormatException e) {
-				// Cannot build a number list.
-				return null;
+				// Cannot build a number list, so read words.
 			}
 		}
+		// Read words from arguments and files
+		final WordListReader reader = buildReader(config);
+		for (String argument : arguments) {
+			readWords(reader, argument);
+		}
+		LOGGER.log(Level.CONFIG, "Word list reader:\n{0}", reader);
 		// Handle word list
-		return words.size() <= 2 ? null : new WordArray(words);
+		return reader.size() <= 2 ? null : new WordArray(reader.getWords());
 	}
 
 	private static final class CryptagenOptionsParser extends OptionsParserWithLog<CryptagenConfig> {
@@ -19,10 +19,15 @@ import cryptator.config.CryptatorConfig;
 import cryptator.parser.CryptaParserException;
 import cryptator.parser.CryptaParserWrapper;
 import cryptator.solver.AdaptiveSolver;
+import cryptator.solver.CryptaBignumModeler;
+import cryptator.solver.CryptaColumnModeler;
 import cryptator.solver.CryptaModelException;
+import cryptator.solver.CryptaModeler;
 import cryptator.solver.CryptaSolver;
 import cryptator.solver.CryptaSolverException;
+import cryptator.solver.PortfolioSolver;
 import cryptator.solver.crypt.CryptSolver;
+import cryptator.specs.ICryptaModeler;
 import cryptator.specs.ICryptaNode;
 import cryptator.specs.ICryptaSolver;
 
@@ -71,20 +76,30 @@ public final class Cryptator {
         }
     }
 
+    private static CryptaSolver createCryptaSolver(final ICryptaModeler modeler, final CryptaCmdConfig config) {
+        final CryptaSolver solver = new CryptaSolver(modeler);
+        solver.setParallelism(config.getParallelism());
+        return solver;
+    }
+
     public static ICryptaSolver createSolver(final CryptaCmdConfig config) {
         switch (config.getSolverType()) {
         case SCALAR:
-            return new CryptaSolver(false);
+            return createCryptaSolver(new CryptaModeler(), config);
         case BIGNUM:
-            return new CryptaSolver(true);
+            return createCryptaSolver(new CryptaBignumModeler(), config);
+        case COLUMN:
+            return createCryptaSolver(new CryptaColumnModeler(), config);
         case CRYPT:
             return new CryptSolver();
         case ADAPT:
             return new AdaptiveSolver(false);
         case ADAPTC:
             return new AdaptiveSolver(true);
+        case PORTFOLIO:
+            return new PortfolioSolver();
         default:
-            return new CryptaSolver(false);
+            return createCryptaSolver(new CryptaModeler(), config);
         }
     }
 
@@ -0,0 +1,225 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.choco;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.ESat;
+
+/**
+ * The Class PropAdditionColumns removes the words that make the first or the
+ * last column of an addition infeasible when the right member is a single word.
+ *
+ * The symbols take distinct digits, and the first symbol of a word is not zero.
+ * Let R be the right word of length m.
+ * <ul>
+ * <li>The leading digit of R is the sum of the leading digits of the left words
+ * of length m plus a carry. So, a left word of length m that starts like R
+ * excludes the other left words of length m, and the smallest sum of the
+ * leading digits of these words is lower than the base.</li>
+ * <li>If the left member has two words, and one of them ends like R, then the
+ * last digit of the other one is zero, so its last symbol is not the first
+ * symbol of a word.</li>
+ * </ul>
+ */
+public final class PropAdditionColumns extends Propagator<IntVar> {
+
+    /** The number of words. */
+    private final int n;
+
+    /** The words. */
+    private final String[] words;
+
+    /** The arithmetic base. */
+    private final int base;
+
+    /** The multiplicities of the leading symbols of the left words of length m. */
+    private final Map<Character, Integer> leadings = new HashMap<>();
+
+    /**
+     * Instantiates a new propagator.
+     *
+     * @param left      the variables that indicate if the words are in the left
+     *                  member
+     * @param right     the variables that indicate if the words are the right
+     *                  member
+     * @param leftCount the number of words of the left member
+     * @param words     the words
+     * @param base      the arithmetic base
+     */
+    public PropAdditionColumns(final BoolVar[] left, final BoolVar[] right, final IntVar leftCount,
+            final String[] words, final int base) {
+        super(buildVars(left, right, leftCount), PropagatorPriority.LINEAR, false);
+        this.n = words.length;
+        this.words = words;
+        this.base = base;
+    }
+
+    private static IntVar[] buildVars(final BoolVar[] left, final BoolVar[] right, final IntVar leftCount) {
+        final IntVar[] vars = Arrays.copyOf(left, 2 * left.length + 1, IntVar[].class);
+        System.arraycopy(right, 0, vars, left.length, right.length);
+        vars[2 * left.length] = leftCount;
+        return vars;
+    }
+
+    private static char first(final String word) {
+        return word.charAt(0);
+    }
+
+    private static char last(final String word) {
+        return word.charAt(word.length() - 1);
+    }
+
+    /**
+     * Gets the index of the right word.
+     *
+     * @return the index of the right word, or -1 if it is unknown
+     */
+    private int getRightWord() {
+        for (int i = 0; i < n; i++) {
+            if (vars[n + i].isInstantiatedTo(1)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Computes the smallest sum of distinct non-zero digits given to symbols with
+     * multiplicities: the most frequent symbols take the smallest digits.
+     */
+    private static int getMinDigitSum(final Map<Character, Integer> multiplicities) {
+        final int[] counts = multiplicities.values().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            sum += counts[counts.length - 1 - i] * (i + 1);
+        }
+        return sum;
+    }
+
+    private boolean isLeadingSumFeasible(final char symbol) {
+        leadings.merge(symbol, 1, Integer::sum);
+        final boolean feasible = getMinDigitSum(leadings) < base;
+        leadings.merge(symbol, -1, Integer::sum);
+        leadings.remove(symbol, 0);
+        return feasible;
+    }
+
+    private void propagateFirstColumn(final String right) throws ContradictionException {
+        final int m = right.length();
+        leadings.clear();
+        int count = 0;
+        boolean startsLikeRight = false;
+        for (int i = 0; i < n; i++) {
+            if (vars[i].isInstantiatedTo(1) && words[i].length() == m) {
+                count++;
+                startsLikeRight |= first(words[i]) == first(right);
+                leadings.merge(first(words[i]), 1, Integer::sum);
+            }
+        }
+        if (startsLikeRight ? count > 1 : getMinDigitSum(leadings) >= base) {
+            fails();
+        }
+        for (int i = 0; i < n; i++) {
+            if (!vars[i].isInstantiated() && words[i].length() == m) {
+                // A word that starts like the right word is the only left word of length m.
+                final boolean removed = startsLikeRight || first(words[i]) == first(right) ? count > 0
+                        : !isLeadingSumFeasible(first(words[i]));
+                if (removed) {
+                    vars[i].instantiateTo(0, this);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the last column of the addition of two words.
+     */
+    private static boolean isLastColumnFeasible(final String w, final String v, final String right) {
+        final char t = last(right);
+        final char zero;
+        if (last(w) == t) {
+            zero = last(v);
+        } else if (last(v) == t) {
+            zero = last(w);
+        } else {
+            return true;
+        }
+        return zero != first(w) && zero != first(v) && zero != first(right);
+    }
+
+    private void propagateLastColumn(final String right) throws ContradictionException {
+        if (vars[2 * n].getUB() != 2) {
+            return;
+        }
+        int w = -1;
+        for (int i = 0; i < n; i++) {
+            if (vars[i].isInstantiatedTo(1)) {
+                if (w < 0) {
+                    w = i;
+                } else if (!isLastColumnFeasible(words[w], words[i], right)) {
+                    fails();
+                }
+            }
+        }
+        if (w >= 0) {
+            for (int i = 0; i < n; i++) {
+                if (!vars[i].isInstantiated() && !isLastColumnFeasible(words[w], words[i], right)) {
+                    vars[i].instantiateTo(0, this);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void propagate(final int evtmask) throws ContradictionException {
+        final int r = getRightWord();
+        if (r >= 0) {
+            propagateFirstColumn(words[r]);
+            propagateLastColumn(words[r]);
+        }
+    }
+
+    @Override
+    public ESat isEntailed() {
+        if (!isCompletelyInstantiated()) {
+            return ESat.UNDEFINED;
+        }
+        final int r = getRightWord();
+        if (r < 0) {
+            return ESat.TRUE;
+        }
+        final String right = words[r];
+        leadings.clear();
+        int count = 0;
+        boolean startsLikeRight = false;
+        int w = -1;
+        for (int i = 0; i < n; i++) {
+            if (vars[i].getValue() == 1) {
+                if (words[i].length() == right.length()) {
+                    count++;
+                    startsLikeRight |= first(words[i]) == first(right);
+                    leadings.merge(first(words[i]), 1, Integer::sum);
+                }
+                if (w >= 0 && vars[2 * n].getValue() == 2 && !isLastColumnFeasible(words[w], words[i], right)) {
+                    return ESat.FALSE;
+                }
+                w = i;
+            }
+        }
+        return ESat.eval(startsLikeRight ? count == 1 : getMinDigitSum(leadings) < base);
+    }
+}
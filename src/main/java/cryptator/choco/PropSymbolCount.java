@@ -0,0 +1,258 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.choco;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.chocosolver.memory.IEnvironment;
+import org.chocosolver.memory.IStateInt;
+import org.chocosolver.memory.IStateLong;
+import org.chocosolver.solver.constraints.Propagator;
+import org.chocosolver.solver.constraints.PropagatorPriority;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.solver.variables.events.IntEventType;
+import org.chocosolver.solver.variables.events.PropagatorEventType;
+import org.chocosolver.util.ESat;
+
+/**
+ * The Class PropSymbolCount counts the distinct symbols of the present words.
+ *
+ * The symbols of each word are stored in a bitmask. The union of the present
+ * words and the symbols of the words that may be present are maintained
+ * incrementally in backtrackable state when the word variables are
+ * instantiated. They bound the symbol count, and a word is removed if its
+ * symbols would exceed the upper bound of the symbol count. The words are only
+ * swept when this slack decreases.
+ */
+public final class PropSymbolCount extends Propagator<IntVar> {
+
+    /** The number of words. */
+    private final int n;
+
+    /** The symbol masks of the words. */
+    private final long[][] masks;
+
+    /** The distinct symbol indices of the words. */
+    private final int[][] symbols;
+
+    /** The union of the present words. */
+    private final IStateLong[] mandatory;
+
+    /** The number of symbols of the present words. */
+    private final IStateInt present;
+
+    /** The number of words that may be present for each symbol. */
+    private final IStateInt[] multiplicities;
+
+    /** The number of symbols of the words that may be present. */
+    private final IStateInt possible;
+
+    /** The slack of the last sweep of the words. */
+    private final IStateInt sweptSlack;
+
+    /**
+     * Instantiates a new propagator.
+     *
+     * @param vwords      the variables that indicate if the words are present
+     * @param words       the words
+     * @param symbolCount the number of distinct symbols of the present words
+     */
+    public PropSymbolCount(final BoolVar[] vwords, final String[] words, final IntVar symbolCount) {
+        super(buildVars(vwords, symbolCount), PropagatorPriority.LINEAR, true);
+        this.n = vwords.length;
+        final Map<Character, Integer> indices = new HashMap<>();
+        for (String word : words) {
+            for (char c : word.toCharArray()) {
+                indices.computeIfAbsent(c, s -> indices.size());
+            }
+        }
+        final int blocks = (indices.size() + Long.SIZE - 1) / Long.SIZE;
+        this.masks = new long[n][blocks];
+        this.symbols = new int[n][];
+        for (int i = 0; i < n; i++) {
+            for (char c : words[i].toCharArray()) {
+                final int s = indices.get(c);
+                masks[i][s / Long.SIZE] |= 1L << (s % Long.SIZE);
+            }
+            symbols[i] = words[i].chars().map(indices::get).distinct().toArray();
+        }
+        final IEnvironment env = symbolCount.getModel().getEnvironment();
+        this.mandatory = new IStateLong[blocks];
+        for (int k = 0; k < blocks; k++) {
+            mandatory[k] = env.makeLong(0);
+        }
+        this.present = env.makeInt(0);
+        this.multiplicities = new IStateInt[indices.size()];
+        for (int s = 0; s < multiplicities.length; s++) {
+            multiplicities[s] = env.makeInt(0);
+        }
+        this.possible = env.makeInt(0);
+        this.sweptSlack = env.makeInt(Integer.MAX_VALUE);
+    }
+
+    private static IntVar[] buildVars(final BoolVar[] vwords, final IntVar symbolCount) {
+        final IntVar[] vars = Arrays.copyOf(vwords, vwords.length + 1, IntVar[].class);
+        vars[vwords.length] = symbolCount;
+        return vars;
+    }
+
+    @Override
+    public int getPropagationConditions(final int vIdx) {
+        return vIdx < n ? IntEventType.instantiation() : IntEventType.boundAndInst();
+    }
+
+    /**
+     * Adds the symbols of a word to the union of the present words.
+     */
+    private void addPresent(final int i) {
+        for (int k = 0; k < mandatory.length; k++) {
+            final long added = masks[i][k] & ~mandatory[k].get();
+            if (added != 0) {
+                mandatory[k].set(mandatory[k].get() | added);
+                present.add(Long.bitCount(added));
+            }
+        }
+    }
+
+    /**
+     * Adds a word to the words that may be present.
+     */
+    private void addPossible(final int i) {
+        for (int s : symbols[i]) {
+            if (multiplicities[s].add(1) == 1) {
+                possible.add(1);
+            }
+        }
+    }
+
+    /**
+     * Removes a word from the words that may be present.
+     */
+    private void removePossible(final int i) {
+        for (int s : symbols[i]) {
+            if (multiplicities[s].add(-1) == 0) {
+                possible.add(-1);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of symbols of a word that are not in the present words.
+     */
+    private int getNewSymbolCount(final int i) {
+        int count = 0;
+        for (int k = 0; k < mandatory.length; k++) {
+            count += Long.bitCount(masks[i][k] & ~mandatory[k].get());
+        }
+        return count;
+    }
+
+    /**
+     * Initializes the state from the domains of the word variables.
+     */
+    private void initialize() {
+        for (IStateLong block : mandatory) {
+            block.set(0);
+        }
+        present.set(0);
+        for (IStateInt multiplicity : multiplicities) {
+            multiplicity.set(0);
+        }
+        possible.set(0);
+        sweptSlack.set(Integer.MAX_VALUE);
+        for (int i = 0; i < n; i++) {
+            if (vars[i].getUB() == 1) {
+                addPossible(i);
+                if (vars[i].getLB() == 1) {
+                    addPresent(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Bounds the symbol count, and sweeps the words whenever the slack decreases.
+     */
+    private void filter() throws ContradictionException {
+        final IntVar symbolCount = vars[n];
+        symbolCount.updateBounds(present.get(), possible.get(), this);
+        int slack = symbolCount.getUB() - present.get();
+        while (slack < sweptSlack.get()) {
+            sweptSlack.set(slack);
+            for (int i = 0; i < n; i++) {
+                if (!vars[i].isInstantiated() && getNewSymbolCount(i) > slack) {
+                    vars[i].instantiateTo(0, this);
+                    removePossible(i);
+                }
+            }
+            symbolCount.updateUpperBound(possible.get(), this);
+            slack = symbolCount.getUB() - present.get();
+        }
+    }
+
+    @Override
+    public void propagate(final int evtmask) throws ContradictionException {
+        if (PropagatorEventType.isFullPropagation(evtmask)) {
+            initialize();
+        }
+        filter();
+    }
+
+    @Override
+    public void propagate(final int idxVarInProp, final int mask) throws ContradictionException {
+        if (idxVarInProp < n) {
+            if (vars[idxVarInProp].getValue() == 1) {
+                addPresent(idxVarInProp);
+            } else {
+                removePossible(idxVarInProp);
+            }
+        }
+        filter();
+    }
+
+    private static int bitCount(final long[] mask) {
+        int count = 0;
+        for (long block : mask) {
+            count += Long.bitCount(block);
+        }
+        return count;
+    }
+
+    private static void or(final long[] union, final long[] mask) {
+        for (int k = 0; k < union.length; k++) {
+            union[k] |= mask[k];
+        }
+    }
+
+    @Override
+    public ESat isEntailed() {
+        final long[] presentUnion = new long[mandatory.length];
+        final long[] possibleUnion = new long[mandatory.length];
+        for (int i = 0; i < n; i++) {
+            if (vars[i].getUB() == 1) {
+                or(possibleUnion, masks[i]);
+                if (vars[i].getLB() == 1) {
+                    or(presentUnion, masks[i]);
+                }
+            }
+        }
+        final int count = bitCount(presentUnion);
+        final IntVar symbolCount = vars[n];
+        if (symbolCount.getUB() < count || symbolCount.getLB() > bitCount(possibleUnion)) {
+            return ESat.FALSE;
+        } else if (isCompletelyInstantiated()) {
+            return ESat.eval(symbolCount.getValue() == count);
+        }
+        return ESat.UNDEFINED;
+    }
+}
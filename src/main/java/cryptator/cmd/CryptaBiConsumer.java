@@ -16,11 +16,10 @@ import java.util.function.BiConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import cryptator.specs.ICryptaEvaluation;
 import cryptator.specs.ICryptaNode;
 import cryptator.specs.ICryptaSolution;
 import cryptator.specs.ICryptaSolutionStore;
-import cryptator.tree.CryptaEvaluation;
+import cryptator.tree.CompiledCryptarithm;
 import cryptator.tree.CryptaEvaluationException;
 import cryptator.tree.GraphvizExport;
 import cryptator.tree.TreeUtils;
@@ -28,6 +27,12 @@ import guru.nidi.graphviz.engine.Format;
 import guru.nidi.graphviz.engine.Graphviz;
 import guru.nidi.graphviz.model.Graph;
 
+/**
+ * The Class CryptaBiConsumer aggregates the solutions of cryptarithms.
+ *
+ * The consumer is thread-safe: the solutions are accepted one at a time and the
+ * counters are read under the same lock.
+ */
 public class CryptaBiConsumer implements BiConsumer<ICryptaNode, ICryptaSolution>, ICryptaSolutionStore {
 
 	private final Logger logger;
@@ -48,40 +53,45 @@ public class CryptaBiConsumer implements BiConsumer<ICryptaNode, ICryptaSolution
 	}
 
 	@Override
-	public final int getSolutionCount() {
+	public final synchronized int getSolutionCount() {
 		return solutionCount;
 	}
 
-	public final Optional<ICryptaSolution> getLastSolution() {
+	public final synchronized Optional<ICryptaSolution> getLastSolution() {
 		return lastSolution;
 	}
 
-	public final int getErrorCount() {
+	public final synchronized int getErrorCount() {
 		return errorCount;
 	}
 
-	public void withSolutionLog() {
+	public synchronized void withSolutionLog() {
 		internal = internal.andThen(new SolutionLogger());
 	}
 
-	public void withCryptarithmLog() {
+	public synchronized void withCryptarithmLog() {
 		internal = internal.andThen(new CryptarithmLogger());
 	}
 
-	public void withSolutionCheck(final int base) {
+	public synchronized void withSolutionCheck(final int base) {
 		internal = internal.andThen(new SolutionChecker(base));
 	}
 
-	public void withGraphvizExport() {
+	public synchronized void withGraphvizExport() {
 		internal = internal.andThen(new GraphvizConsumer());
 	}
 
 	@Override
-	public void accept(final ICryptaNode t, final ICryptaSolution u) {
+	public final synchronized Optional<ICryptaSolution> getUniqueSolution() {
+		return solutionCount <= 1 ? lastSolution : Optional.empty();
+	}
+
+	@Override
+	public synchronized void accept(final ICryptaNode t, final ICryptaSolution u) {
 		internal.accept(t, u);
 	}
 
-	public void logOnLastSolution() {
+	public synchronized void logOnLastSolution() {
 		if (lastSolution.isPresent()) {
 			logger.log(Level.INFO, "Last cryptarithm solution #{0,number,#}:\n{1}",
 					new Object[] { solutionCount, lastSolution.get() });
@@ -121,17 +131,29 @@ public class CryptaBiConsumer implements BiConsumer<ICryptaNode, ICryptaSolution
 
 		private final int base;
 
-		private final ICryptaEvaluation eval = new CryptaEvaluation();
+		/** The compiled cryptarithm reused by the solutions of the same node. */
+		private CompiledCryptarithm compiled;
+
+		/** The node of the compiled cryptarithm. */
+		private ICryptaNode compiledNode;
 
 		SolutionChecker(final int base) {
 			super();
 			this.base = base;
 		}
 
+		private CompiledCryptarithm compile(final ICryptaNode n) {
+			if (compiled == null || compiledNode != n) {
+				compiled = new CompiledCryptarithm(n, base);
+				compiledNode = n;
+			}
+			return compiled;
+		}
+
 		@Override
 		public void accept(final ICryptaNode n, final ICryptaSolution s) {
 			try {
-				if (eval.evaluate(n, s, base).compareTo(BigInteger.ZERO) != 0) {
+				if (compile(n).evaluate(s).compareTo(BigInteger.ZERO) != 0) {
 					logger.log(Level.FINE, "Eval cryptarithm solution #{0,number,#} [OK]", solutionCount);
 				} else {
 					errorCount++;
@@ -0,0 +1,126 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.cmd;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.ibm.icu.util.VersionInfo;
+
+import cryptator.gen.TransformWord;
+
+/**
+ * The Class SpellOutMemo memoizes the normalized spelled-out numbers in a
+ * directory, with one file per locale.
+ *
+ * A file contains the words of the numbers from zero in increasing order, one
+ * word per line, after a header with the ICU version. The file is extended
+ * when a larger number is required, and ignored if it was written by another
+ * ICU version.
+ */
+public final class SpellOutMemo {
+
+    /** The logger. */
+    private static final Logger LOGGER = Logger.getLogger(SpellOutMemo.class.getName());
+
+    /** The header of the files. */
+    private static final String HEADER = "# ICU " + VersionInfo.ICU_VERSION;
+
+    /** The directory of the files. */
+    private final File directory;
+
+    /**
+     * Instantiates a new memo.
+     *
+     * @param directory the directory of the files
+     */
+    public SpellOutMemo(final File directory) {
+        super();
+        this.directory = directory;
+    }
+
+    private Path getFile(final String countryCode, final String lang) {
+        return directory.toPath().resolve("spellout-" + lang + "-" + countryCode + ".txt");
+    }
+
+    private static List<String> load(final Path file) {
+        if (Files.isReadable(file)) {
+            try {
+                final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                if (!lines.isEmpty() && HEADER.equals(lines.get(0))) {
+                    return lines.subList(1, lines.size());
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Load the spelled-out numbers [FAIL]", e);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private static void save(final Path file, final List<String> words) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            final Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(),
+                    ".tmp");
+            try {
+                final List<String> lines = new ArrayList<>(words.size() + 1);
+                lines.add(HEADER);
+                lines.addAll(words);
+                Files.write(tmp, lines, StandardCharsets.UTF_8);
+                try {
+                    Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Save the spelled-out numbers [FAIL]", e);
+        }
+    }
+
+    /**
+     * Gets the normalized spelled-out numbers from zero to an upper bound.
+     *
+     * The missing numbers are translated, and the file is extended.
+     *
+     * @param countryCode the country code of the java.util.Locale
+     * @param lang        the language of the java.util.Locale
+     * @param ub          the upper bound (inclusive)
+     * @return the normalized words of the numbers
+     */
+    public String[] getWords(final String countryCode, final String lang, final int ub) {
+        final Path file = getFile(countryCode, lang);
+        final List<String> known = load(file);
+        if (known.size() > ub) {
+            return known.subList(0, ub + 1).toArray(new String[0]);
+        }
+        final List<String> words = new ArrayList<>(ub + 1);
+        words.addAll(known);
+        Collections.addAll(words, TransformWord.translateAndNormalize(countryCode, lang, known.size(), ub + 1));
+        save(file, words);
+        return words.toArray(new String[0]);
+    }
+
+    @Override
+    public String toString() {
+        return "SpellOutMemo [directory=" + directory + "]";
+    }
+}
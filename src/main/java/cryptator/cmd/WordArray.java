@@ -10,6 +10,7 @@ package cryptator.cmd;
 
 import static cryptator.gen.TransformWord.translateAndNormalize;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.List;
 
@@ -36,13 +37,24 @@ public class WordArray {
     }
 
     public WordArray(final String countryCode, final String lang, final int lb, final int ub) {
+        this(countryCode, lang, lb, ub, null);
+    }
+
+    /**
+     * Instantiates the spelled-out numbers for doubly true cryptarithms.
+     *
+     * @param countryCode the country code of the java.util.Locale
+     * @param lang        the language of the java.util.Locale
+     * @param lb          the lower bound of the numbers
+     * @param ub          the upper bound of the numbers
+     * @param memoDir     the directory of the memoized numbers, or null
+     */
+    public WordArray(final String countryCode, final String lang, final int lb, final int ub, final File memoDir) {
         super();
         this.lb = lb;
         this.ub = ub;
-        this.words = new String[ub + 1];
-        for (int i = 0; i <= ub; i++) {
-            words[i] = translateAndNormalize(countryCode, lang, i);
-        }
+        this.words = memoDir == null ? translateAndNormalize(countryCode, lang, 0, ub + 1)
+                : new SpellOutMemo(memoDir).getWords(countryCode, lang, ub);
     }
 
     public final String[] getWords() {
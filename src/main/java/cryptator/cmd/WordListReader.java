@@ -0,0 +1,228 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.cmd;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import cryptator.gen.TransformWord;
+
+/**
+ * The Class WordListReader builds a word list from words and word files.
+ *
+ * The files are read in UTF-8 through memory-mapped windows decoded into a
+ * small buffer, so the raw text is never held in memory. The words are
+ * separated by whitespaces. Each word is normalized if required, filtered by
+ * length and number of distinct symbols, and added unless it is a duplicate.
+ * The reader is not thread-safe.
+ */
+public class WordListReader {
+
+    /** The size of a memory-mapped window of a file. */
+    private static final long WINDOW_SIZE = 1L << 26;
+
+    /** The size of the decoded buffer. */
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    /** The byte order mark that can start a file. */
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    /** The distinct words in their order of first occurrence. */
+    private final Set<String> words = new LinkedHashSet<>();
+
+    /** The distinct symbols of the current word. */
+    private final BitSet symbols = new BitSet();
+
+    private boolean normalization;
+
+    private int minLength = 1;
+
+    private int maxLength = Integer.MAX_VALUE;
+
+    private int maxSymbols = Integer.MAX_VALUE;
+
+    private int rejectedCount;
+
+    private int duplicateCount;
+
+    public WordListReader() {
+        super();
+    }
+
+    /**
+     * Normalize the words before filtering them.
+     *
+     * @return this reader
+     * @see TransformWord#normalize(String)
+     */
+    public WordListReader withNormalization() {
+        this.normalization = true;
+        return this;
+    }
+
+    /**
+     * Filter the words by length.
+     *
+     * @param min the minimum length
+     * @param max the maximum length (negative if none)
+     * @return this reader
+     */
+    public WordListReader withLengthFilter(final int min, final int max) {
+        this.minLength = Math.max(1, min);
+        this.maxLength = max < 0 ? Integer.MAX_VALUE : max;
+        return this;
+    }
+
+    /**
+     * Filter the words by number of distinct symbols.
+     *
+     * @param max the maximum number of distinct symbols
+     * @return this reader
+     */
+    public WordListReader withSymbolFilter(final int max) {
+        this.maxSymbols = max;
+        return this;
+    }
+
+    /**
+     * Gets the number of words rejected by the filters.
+     *
+     * @return the rejected count
+     */
+    public final int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Gets the number of duplicate words.
+     *
+     * @return the duplicate count
+     */
+    public final int getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    public final int size() {
+        return words.size();
+    }
+
+    private boolean hasMaxSymbols(final String word) {
+        if (word.length() <= maxSymbols) {
+            return true;
+        }
+        symbols.clear();
+        for (int i = 0; i < word.length(); i++) {
+            symbols.set(word.charAt(i));
+        }
+        return symbols.cardinality() <= maxSymbols;
+    }
+
+    /**
+     * Add a word.
+     *
+     * @param word the word
+     * @return true, if the word is added to the list
+     */
+    public boolean add(final String word) {
+        final String w = normalization ? TransformWord.normalize(word) : word;
+        if (w.length() < minLength || w.length() > maxLength || !hasMaxSymbols(w)) {
+            rejectedCount++;
+            return false;
+        } else if (!words.add(w)) {
+            duplicateCount++;
+            return false;
+        }
+        return true;
+    }
+
+    private void addTokens(final CharBuffer buffer, final StringBuilder token) {
+        while (buffer.hasRemaining()) {
+            final char c = buffer.get();
+            if (Character.isWhitespace(c) || c == BYTE_ORDER_MARK) {
+                addToken(token);
+            } else {
+                token.append(c);
+            }
+        }
+    }
+
+    private void addToken(final StringBuilder token) {
+        if (token.length() > 0) {
+            add(token.toString());
+            token.setLength(0);
+        }
+    }
+
+    /**
+     * Read the words of a UTF-8 file.
+     *
+     * The malformed input is replaced by the replacement character.
+     *
+     * @param file the file
+     * @throws IOException if an I/O error occurs
+     */
+    public void read(final Path file) throws IOException {
+        final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final CharBuffer buffer = CharBuffer.allocate(BUFFER_SIZE);
+        final StringBuilder token = new StringBuilder();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                final long length = Math.min(WINDOW_SIZE, size - position);
+                final boolean endOfInput = position + length == size;
+                final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                CoderResult result;
+                do {
+                    result = decoder.decode(window, buffer, endOfInput);
+                    buffer.flip();
+                    addTokens(buffer, token);
+                    buffer.clear();
+                } while (result.isOverflow());
+                // The bytes of a character cut by the window are decoded in the next one.
+                position += length - window.remaining();
+            }
+            if (size > 0) {
+                decoder.flush(buffer);
+                buffer.flip();
+                addTokens(buffer, token);
+            }
+            addToken(token);
+        }
+    }
+
+    /**
+     * Gets the words in their order of first occurrence.
+     *
+     * @return the words
+     */
+    public List<String> getWords() {
+        return new ArrayList<>(words);
+    }
+
+    @Override
+    public String toString() {
+        return "c WORDS " + words.size() + "\nc REJECTED_WORDS " + rejectedCount + "\nc DUPLICATE_WORDS "
+                + duplicateCount;
+    }
+}
@@ -13,7 +13,7 @@ import org.kohsuke.args4j.Option;
 public class CryptaCmdConfig extends CryptaLogConfig {
 
     public enum SolverType {
-        SCALAR, BIGNUM, CRYPT, ADAPT, ADAPTC
+        SCALAR, BIGNUM, COLUMN, CRYPT, ADAPT, ADAPTC, PORTFOLIO
     }
 
     @Option(name = "-s", aliases = {"--solver"}, usage = "Select the type of solver.")
@@ -25,9 +25,15 @@ public class CryptaCmdConfig extends CryptaLogConfig {
     @Option(name = "--graphviz", usage = "Export solutions to graphviz format.")
     private boolean exportGraphiz;
 
+    @Option(name = "--parallel", usage = "Number of workers that split the search of a cryptarithm.")
+    private int parallelism = 1;
+
     @Option(name = "--crypt", hidden = true, usage = "Set the crypt command.")
     private String cryptCommand = "crypt";
 
+    @Option(name = "--crypt-workers", usage = "Number of long-lived crypt processes (0 for one per cryptarithm).")
+    private int cryptWorkers;
+
     public final SolverType getSolverType() {
         return solverType;
     }
@@ -36,6 +42,14 @@ public class CryptaCmdConfig extends CryptaLogConfig {
         this.solverType = solverType;
     }
 
+    public final int getParallelism() {
+        return parallelism;
+    }
+
+    public final void setParallelism(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     public final boolean isExportGraphiz() {
         return exportGraphiz;
     }
@@ -44,6 +58,10 @@ public class CryptaCmdConfig extends CryptaLogConfig {
         return checkSolution;
     }
 
+    public final void setCheckSolution(final boolean checkSolution) {
+        this.checkSolution = checkSolution;
+    }
+
     @Deprecated(forRemoval = true)
     public final boolean useCrypt() {
         return solverType == SolverType.CRYPT;
@@ -53,6 +71,14 @@ public class CryptaCmdConfig extends CryptaLogConfig {
         return cryptCommand;
     }
 
+    public final int getCryptWorkers() {
+        return cryptWorkers;
+    }
+
+    public final void setCryptWorkers(final int cryptWorkers) {
+        this.cryptWorkers = cryptWorkers;
+    }
+
     @Override
     public String toString() {
         return super.toString() + "\nc SOLVER " + getSolverType();
@@ -8,6 +8,10 @@
  */
 package cryptator.config;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.kohsuke.args4j.Option;
 
 public class CryptagenConfig extends CryptaCmdConfig {
@@ -26,6 +30,10 @@ public class CryptagenConfig extends CryptaCmdConfig {
         FREE, UNIQUE, FIXED
     }
 
+    public enum CandidateFilter {
+        LENGTH, COLUMN, NINES
+    }
+
     @Option(name = "--right", usage = "Select the right member type.")
     private RightMemberType rightMemberType = RightMemberType.UNIQUE;
 
@@ -38,18 +46,54 @@ public class CryptagenConfig extends CryptaCmdConfig {
     @Option(name = "--lang", usage = "Language code for doubly true cryptarithms.")
     private String langCode = "en";
 
+    @Option(name = "--spellout-memo", metaVar = "DIR", usage = "Memoize the spelled-out numbers in a directory.")
+    private File spellOutMemo;
+
     @Option(name = "--min", usage = "Minimum number of words.")
     private int minWords = 3;
 
     @Option(name = "--max", usage = "Maximum number of words.")
     private int maxWords = -1;
 
+    @Option(name = "--normalize", usage = "Normalize the words (accents, dashes, lower case).")
+    private boolean normalizeWords;
+
+    @Option(name = "--min-length", usage = "Minimum length of the words.")
+    private int minLength = 1;
+
+    @Option(name = "--max-length", usage = "Maximum length of the words.")
+    private int maxLength = -1;
+
     @Option(name = "--light", hidden = true, usage = "Use a light CP model.")
     private boolean lightModel;
 
-    @Option(name = "--threads", hidden = true, usage = "Number of threads (experimental).")
+    @Option(name = "--threads", hidden = true, usage = "Number of threads solving the candidates.")
     private int nthreads = 1;
 
+    @Option(name = "--gen-threads", hidden = true, usage = "Number of threads enumerating the candidates.")
+    private int genThreads = 1;
+
+    @Option(name = "--virtual", hidden = true, usage = "Solve each candidate on its own virtual thread if available.")
+    private boolean virtualThreads;
+
+    @Option(name = "--concurrency", hidden = true, usage = "Maximum number of candidates solved on virtual threads.")
+    private int maxConcurrency = 256;
+
+    @Option(name = "--pattern-cache", usage = "Capacity of the cache of isomorphic candidates (0 disables).")
+    private int patternCacheCapacity = 1 << 14;
+
+    @Option(name = "--no-filter", metaVar = "FILTER", usage = "Disable a filter of the candidates before solving them.")
+    private List<CandidateFilter> disabledFilters = new ArrayList<>();
+
+    @Option(name = "--checkpoint", metaVar = "FILE", usage = "Save the progress of the generation in a file.")
+    private File checkpointFile;
+
+    @Option(name = "--resume", usage = "Resume the generation from the checkpoint file.")
+    private boolean resume;
+
+    @Option(name = "--checkpoint-interval", usage = "Minimum delay in seconds between two checkpoints.")
+    private int checkpointInterval = 60;
+
     public final GenerateType getGenerateType() {
         return generateType;
     }
@@ -70,6 +114,10 @@ public class CryptagenConfig extends CryptaCmdConfig {
         return dryRun;
     }
 
+    public final void setDryRun(final boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
     public final int getGridSize() {
         return gridSize;
     }
@@ -90,6 +138,85 @@ public class CryptagenConfig extends CryptaCmdConfig {
         return nthreads;
     }
 
+    public final void setNthreads(final int nthreads) {
+        this.nthreads = nthreads;
+    }
+
+    public final int getGenThreads() {
+        return genThreads;
+    }
+
+    public final void setGenThreads(final int genThreads) {
+        this.genThreads = genThreads;
+    }
+
+    public final boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public final void setVirtualThreads(final boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public final int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public final void setMaxConcurrency(final int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public final int getPatternCacheCapacity() {
+        return patternCacheCapacity;
+    }
+
+    public final void setPatternCacheCapacity(final int patternCacheCapacity) {
+        this.patternCacheCapacity = patternCacheCapacity;
+    }
+
+    public final boolean isFilterEnabled(final CandidateFilter filter) {
+        return !disabledFilters.contains(filter);
+    }
+
+    public final void setFilterEnabled(final CandidateFilter filter, final boolean enabled) {
+        disabledFilters.remove(filter);
+        if (!enabled) {
+            disabledFilters.add(filter);
+        }
+    }
+
+    public final File getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    public final void setCheckpointFile(final File checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    public final boolean isResume() {
+        return resume;
+    }
+
+    public final void setResume(final boolean resume) {
+        this.resume = resume;
+    }
+
+    public final int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public final void setCheckpointInterval(final int checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    public final File getSpellOutMemo() {
+        return spellOutMemo;
+    }
+
+    public final void setSpellOutMemo(final File spellOutMemo) {
+        this.spellOutMemo = spellOutMemo;
+    }
+
     public final int getMinWords() {
         return minWords;
     }
@@ -98,6 +225,18 @@ public class CryptagenConfig extends CryptaCmdConfig {
         return maxWords;
     }
 
+    public final boolean isNormalizeWords() {
+        return normalizeWords;
+    }
+
+    public final int getMinLength() {
+        return minLength;
+    }
+
+    public final int getMaxLength() {
+        return maxLength;
+    }
+
     public final boolean isLightModel() {
         return lightModel;
     }
@@ -109,7 +248,10 @@ public class CryptagenConfig extends CryptaCmdConfig {
     @Override
     public String toString() {
         return super.toString() + "\nc GENERATE " + generateType + "\nc RIGHT_MEMBER " + rightMemberType + "\nc LANG "
-                + langCode + "\nc THREADS " + nthreads + "\nc LIGHT_PROPAG " + lightModel;
+                + langCode + "\nc SPELLOUT_MEMO " + spellOutMemo + "\nc THREADS " + nthreads + "\nc GEN_THREADS "
+                + genThreads + "\nc VIRTUAL " + (virtualThreads ? maxConcurrency : 0) + "\nc PATTERN_CACHE "
+                + patternCacheCapacity + "\nc NO_FILTER " + disabledFilters + "\nc CHECKPOINT " + checkpointFile
+                + "\nc RESUME " + resume + "\nc LIGHT_PROPAG " + lightModel;
     }
 
 }
@@ -9,6 +9,7 @@
 package cryptator.gen;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.function.ToIntFunction;
 
 import org.chocosolver.solver.Model;
@@ -148,6 +149,17 @@ public abstract class AbstractCryptaGenModel implements ICryptaGenModel {
         wordCount.eq(val).post();
     }
 
+    /**
+     * Post constraints that remove words.
+     *
+     * @param kept the indices of the words that can be present
+     */
+    public void postAbsentWordConstraints(final BitSet kept) {
+        for (int i = kept.nextClearBit(0); i < vwords.length; i = kept.nextClearBit(i + 1)) {
+            vwords[i].eq(0).post();
+        }
+    }
+
     @Override
     public String toString() {
         return GenerateUtil.recordString(this, " ");
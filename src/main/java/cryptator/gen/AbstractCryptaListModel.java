@@ -8,28 +8,21 @@
  */
 package cryptator.gen;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
 
 import org.chocosolver.solver.Model;
-import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.variables.IntVar;
 
+import cryptator.choco.PropSymbolCount;
 import cryptator.specs.ICryptaGenSolver;
 
 /**
- * The Class WordsListModel defines a CP model for mapping words to symbols. A
- * symbol is present if and only if at least one word that contains the symbol
- * is present.
+ * The Class WordsListModel defines a CP model for mapping words to symbols. The
+ * symbol count is the number of distinct symbols of the present words.
  */
 public abstract class AbstractCryptaListModel extends AbstractCryptaGenModel implements ICryptaGenSolver {
 
-    /** The map that associates a variable to each symbol of the words. */
-    protected final Map<Character, BoolVar> symbolsToVariables;
-
     /** The symbol count. */
     protected final IntVar symbolCount;
 
@@ -41,8 +34,7 @@ public abstract class AbstractCryptaListModel extends AbstractCryptaGenModel imp
      */
     protected AbstractCryptaListModel(final Model model, final String[] words) {
         super(model, words, "");
-        symbolsToVariables = buildSymbolVars(model, words);
-        symbolCount = model.intVar("symbCount", 0, symbolsToVariables.size());
+        symbolCount = model.intVar("symbCount", 0, countSymbols(words));
     }
 
     /**
@@ -61,7 +53,6 @@ public abstract class AbstractCryptaListModel extends AbstractCryptaGenModel imp
     public void buildModel() {
         super.buildModel();
         postSymbolCountConstraint();
-        postChannelingConstraints();
     }
 
     /**
@@ -83,6 +74,18 @@ public abstract class AbstractCryptaListModel extends AbstractCryptaGenModel imp
      */
     public abstract void postHeavyConstraints(int base);
 
+    /**
+     * Post constraints over the first and last columns of the cryptarithms.
+     *
+     * The symbols take distinct digits, and the first symbol of a word is not
+     * zero. Nothing is posted by default.
+     *
+     * @param base the arithmetic base
+     */
+    public void postColumnConstraints(final int base) {
+        // Nothing to do by default.
+    }
+
     /**
      * Post a constraint over the maximum number of distinct symbols in the words.
      *
@@ -94,67 +97,22 @@ public abstract class AbstractCryptaListModel extends AbstractCryptaGenModel imp
 
     /**
      * Post symbol count constraint.
+     *
+     * A single propagator channels the words and the symbol count through the
+     * symbol masks of the words.
      */
     private void postSymbolCountConstraint() {
-        final BoolVar[] symbols = AbstractCryptaListModel.toArray(symbolsToVariables.values());
-        model.sum(symbols, "=", symbolCount).post();
+        new Constraint("symbolCount", new PropSymbolCount(vwords, words, symbolCount)).post();
     }
 
     /**
-     * Builds the mapping between symbols and boolean variables.
+     * Count the distinct symbols of the words.
      *
-     * @param model the model
      * @param words the words list
-     * @return the map that associates variables to symbols.
-     */
-    private static Map<Character, BoolVar> buildSymbolVars(final Model model, final String[] words) {
-        final Map<Character, BoolVar> symbolsToVariables = new HashMap<>();
-        for (String word : words) {
-            for (char c : word.toCharArray()) {
-                symbolsToVariables.computeIfAbsent(c, s -> model.boolVar("symb_" + s));
-            }
-        }
-        return symbolsToVariables;
-    }
-
-    /**
-     * Builds the mapping between each symbol and the boolean variables associated
-     * to words that contains the symbol.
-     *
-     * @return the map that gives the boolean variables that contain the symbols.
-     */
-    private Map<Character, List<BoolVar>> buildSymbolsToWords() {
-        final Map<Character, List<BoolVar>> map = new HashMap<>();
-        for (int i = 0; i < words.length; i++) {
-            for (char c : words[i].toCharArray()) {
-                final Collection<BoolVar> list = map.computeIfAbsent(c, s -> new ArrayList<>());
-                list.add(vwords[i]);
-            }
-        }
-        return map;
-    }
-
-    /**
-     * Post channeling constraints between symbols and words. A symbol is present if
-     * and only if one word that contains the symbol is present.
-     */
-    private void postChannelingConstraints() {
-        final Map<Character, List<BoolVar>> symbolsToWords = buildSymbolsToWords();
-        for (Map.Entry<Character, List<BoolVar>> entry : symbolsToWords.entrySet()) {
-            final BoolVar max = symbolsToVariables.get(entry.getKey());
-            final BoolVar[] vars = AbstractCryptaListModel.toArray(entry.getValue());
-            model.max(max, vars).post();
-        }
-    }
-
-    /**
-     * Transform a collection of boolean variables into an array.
-     *
-     * @param vars the boolean variable collection
-     * @return the array
+     * @return the number of distinct symbols
      */
-    private static BoolVar[] toArray(final Collection<BoolVar> vars) {
-        return vars.toArray(new BoolVar[vars.size()]);
+    private static int countSymbols(final String[] words) {
+        return (int) Arrays.stream(words).flatMapToInt(String::chars).distinct().count();
     }
 
 }
@@ -0,0 +1,347 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.gen;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import cryptator.CryptaOperator;
+import cryptator.config.CryptagenConfig;
+import cryptator.config.CryptagenConfig.CandidateFilter;
+import cryptator.specs.ICryptaNode;
+
+/**
+ * The Class CryptaCandidateFilters rejects candidates without solution before
+ * solving them.
+ *
+ * The filters check necessary conditions over the equations of a candidate
+ * whose members are sums of words:
+ * <ul>
+ * <li>{@link CandidateFilter#LENGTH}: the smallest value of a member must not
+ * exceed the largest value of the other member, so the leading column can be
+ * reached by the carries;</li>
+ * <li>{@link CandidateFilter#COLUMN}: the last column must hold modulo the
+ * base;</li>
+ * <li>{@link CandidateFilter#NINES}: the equation must hold modulo the base
+ * minus one, i.e. casting out nines in base 10.</li>
+ * </ul>
+ * The modular conditions are checked by enumerating the digits of the few
+ * symbols with a non-zero coefficient, and skipped if there are too many of
+ * them. The symbols take distinct digits, and the first symbol of a word is not
+ * zero. The filters are skipped if the digits are not distinct or if digits are
+ * assigned.
+ *
+ * The filters are thread-safe.
+ */
+public final class CryptaCandidateFilters {
+
+    /** The maximum number of symbols enumerated by a modular condition. */
+    private static final int MAX_ENUMERATED_SYMBOLS = 4;
+
+    /** The arithmetic base. */
+    private final int base;
+
+    /** The enabled filters. */
+    private final Set<CandidateFilter> filters;
+
+    /** The rejection count of each filter. */
+    private final AtomicLongArray rejections = new AtomicLongArray(CandidateFilter.values().length);
+
+    /**
+     * Instantiates new filters with respect to the configuration.
+     *
+     * @param config the configuration
+     */
+    public CryptaCandidateFilters(final CryptagenConfig config) {
+        super();
+        this.base = config.getArithmeticBase();
+        final Set<CandidateFilter> enabled = EnumSet.noneOf(CandidateFilter.class);
+        if (!config.getAllowLeadingZeros() && config.getAssignments().isEmpty()) {
+            for (CandidateFilter filter : CandidateFilter.values()) {
+                if (config.isFilterEnabled(filter)) {
+                    enabled.add(filter);
+                }
+            }
+        }
+        if (base < 3) {
+            // Every value is equal modulo one.
+            enabled.remove(CandidateFilter.NINES);
+        }
+        if (base >= Integer.SIZE) {
+            // The used digits are stored in the bits of an int.
+            enabled.remove(CandidateFilter.COLUMN);
+            enabled.remove(CandidateFilter.NINES);
+        }
+        this.filters = enabled;
+    }
+
+    /**
+     * Checks if no filter is enabled.
+     *
+     * @return true, if the filters accept every candidate
+     */
+    public boolean isEmpty() {
+        return filters.isEmpty();
+    }
+
+    /**
+     * Gets the number of candidates rejected by a filter.
+     *
+     * @param filter the filter
+     * @return the rejection count
+     */
+    public long getRejectionCount(final CandidateFilter filter) {
+        return rejections.get(filter.ordinal());
+    }
+
+    /**
+     * Test a candidate.
+     *
+     * @param candidate the candidate
+     * @return false if the candidate has no solution, true if it may have one
+     */
+    public boolean test(final ICryptaNode candidate) {
+        final List<Equation> equations = new ArrayList<>();
+        if (filters.isEmpty() || !Equation.collect(candidate, equations)) {
+            return true;
+        }
+        final Set<Character> symbols = new HashSet<>();
+        final Set<Character> leading = new HashSet<>();
+        for (Equation equation : equations) {
+            equation.addSymbols(symbols, leading);
+        }
+        if (symbols.size() > base) {
+            // The digits are not distinct.
+            return true;
+        }
+        for (CandidateFilter filter : filters) {
+            for (Equation equation : equations) {
+                if (!test(filter, equation, leading)) {
+                    rejections.incrementAndGet(filter.ordinal());
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean test(final CandidateFilter filter, final Equation equation, final Set<Character> leading) {
+        switch (filter) {
+        case LENGTH:
+            return testLength(equation.left, equation.right) && testLength(equation.right, equation.left);
+        case COLUMN:
+            return testModulo(equation.getLastColumnCoefficients(base), base, leading);
+        case NINES:
+            return testModulo(equation.getCoefficients(base - 1), base - 1, leading);
+        default:
+            return true;
+        }
+    }
+
+    /**
+     * Checks that the smallest value of a member does not exceed the largest value
+     * of the other member.
+     *
+     * @param member the member
+     * @param other  the other member
+     * @return false if the member is always greater than the other member
+     */
+    private boolean testLength(final List<char[]> member, final List<char[]> other) {
+        int a = 0;
+        for (char[] word : member) {
+            a = Math.max(a, word.length);
+        }
+        int b = 0;
+        for (char[] word : other) {
+            b = Math.max(b, word.length);
+        }
+        return isBalanced(a, b, other.size(), base);
+    }
+
+    /**
+     * Checks that a member whose maximum length is a can be equal to a member
+     * whose maximum length is b with at most m words.
+     *
+     * The smallest value of the first member is at least base^(a-1). The largest
+     * value of the other member is lower than m * base^b.
+     *
+     * @param a    the maximum length of the member
+     * @param b    the maximum length of the other member
+     * @param m    the number of words of the other member
+     * @param base the arithmetic base
+     * @return false if the member is always greater than the other member
+     */
+    static boolean isBalanced(final int a, final int b, final int m, final int base) {
+        long p = 1;
+        for (int i = b; i < a - 1 && p < m; i++) {
+            p *= base;
+        }
+        return a - 1 < b || p < m;
+    }
+
+    /**
+     * Checks that the linear combination can be zero modulo a divisor with
+     * distinct digits.
+     *
+     * @param coefficients the coefficients of the symbols modulo the divisor
+     * @param divisor      the divisor
+     * @param leading      the symbols that are not zero
+     * @return false if the combination is never zero modulo the divisor
+     */
+    private boolean testModulo(final Map<Character, Integer> coefficients, final int divisor,
+            final Set<Character> leading) {
+        coefficients.values().removeIf(c -> c == 0);
+        if (coefficients.isEmpty() || coefficients.size() > MAX_ENUMERATED_SYMBOLS) {
+            return true;
+        }
+        final int n = coefficients.size();
+        final int[] coeffs = new int[n];
+        final int[] minDigits = new int[n];
+        int i = 0;
+        for (Map.Entry<Character, Integer> e : coefficients.entrySet()) {
+            coeffs[i] = e.getValue();
+            minDigits[i] = leading.contains(e.getKey()) ? 1 : 0;
+            i++;
+        }
+        return existsZeroCombination(coeffs, minDigits, divisor, 0, 0, 0);
+    }
+
+    private boolean existsZeroCombination(final int[] coeffs, final int[] minDigits, final int divisor,
+            final int index, final int sum, final int usedDigits) {
+        if (index == coeffs.length) {
+            return sum % divisor == 0;
+        }
+        for (int d = minDigits[index]; d < base; d++) {
+            if ((usedDigits & (1 << d)) == 0 && existsZeroCombination(coeffs, minDigits, divisor, index + 1,
+                    (sum + coeffs[index] * d) % divisor, usedDigits | (1 << d))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        for (CandidateFilter filter : CandidateFilter.values()) {
+            if (b.length() > 0) {
+                b.append(' ');
+            }
+            b.append(filter).append(' ').append(filters.contains(filter) ? getRejectionCount(filter) : "off");
+        }
+        return b.toString();
+    }
+
+    /**
+     * The Class Equation is an equation whose members are sums of words.
+     */
+    private static final class Equation {
+
+        /** The words of the left member. */
+        private final List<char[]> left = new ArrayList<>();
+
+        /** The words of the right member. */
+        private final List<char[]> right = new ArrayList<>();
+
+        /**
+         * Collect the equations of a conjunction.
+         *
+         * @param node      the node
+         * @param equations the equations
+         * @return false if a node is not an equation of sums of words
+         */
+        static boolean collect(final ICryptaNode node, final List<Equation> equations) {
+            if (node.isInternalNode() && node.getOperator() == CryptaOperator.AND) {
+                return collect(node.getLeftChild(), equations) && collect(node.getRightChild(), equations);
+            }
+            if (node.isInternalNode() && node.getOperator() == CryptaOperator.EQ) {
+                final Equation equation = new Equation();
+                if (collectWords(node.getLeftChild(), equation.left)
+                        && collectWords(node.getRightChild(), equation.right)) {
+                    equations.add(equation);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean collectWords(final ICryptaNode node, final List<char[]> words) {
+            if (node.isInternalNode()) {
+                return node.getOperator() == CryptaOperator.ADD && collectWords(node.getLeftChild(), words)
+                        && collectWords(node.getRightChild(), words);
+            }
+            if (node.isConstant() || node.getWord().length == 0) {
+                return false;
+            }
+            words.add(node.getWord());
+            return true;
+        }
+
+        void addSymbols(final Set<Character> symbols, final Set<Character> leading) {
+            for (List<char[]> member : List.of(left, right)) {
+                for (char[] word : member) {
+                    leading.add(word[0]);
+                    for (char c : word) {
+                        symbols.add(c);
+                    }
+                }
+            }
+        }
+
+        private static void addCoefficient(final Map<Character, Integer> coefficients, final char symbol,
+                final int sign, final int divisor) {
+            coefficients.merge(symbol, Math.floorMod(sign, divisor), (x, y) -> (x + y) % divisor);
+        }
+
+        /**
+         * Gets the coefficients of the last column modulo the base.
+         *
+         * @param divisor the base
+         * @return the coefficients of the symbols
+         */
+        Map<Character, Integer> getLastColumnCoefficients(final int divisor) {
+            final Map<Character, Integer> coefficients = new HashMap<>();
+            for (char[] word : left) {
+                addCoefficient(coefficients, word[word.length - 1], 1, divisor);
+            }
+            for (char[] word : right) {
+                addCoefficient(coefficients, word[word.length - 1], -1, divisor);
+            }
+            return coefficients;
+        }
+
+        /**
+         * Gets the coefficients modulo the base minus one. Each power of the base is
+         * equal to one modulo the base minus one.
+         *
+         * @param divisor the base minus one
+         * @return the coefficients of the symbols
+         */
+        Map<Character, Integer> getCoefficients(final int divisor) {
+            final Map<Character, Integer> coefficients = new HashMap<>();
+            for (char[] word : left) {
+                for (char c : word) {
+                    addCoefficient(coefficients, c, 1, divisor);
+                }
+            }
+            for (char[] word : right) {
+                for (char c : word) {
+                    addCoefficient(coefficients, c, -1, divisor);
+                }
+            }
+            return coefficients;
+        }
+    }
+}
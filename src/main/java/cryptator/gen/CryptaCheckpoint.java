@@ -0,0 +1,305 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.gen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import cryptator.cmd.WordArray;
+import cryptator.config.CryptagenConfig;
+import cryptator.json.GenerateCheckpoint;
+import cryptator.parser.CryptaParserException;
+import cryptator.parser.CryptaParserWrapper;
+import cryptator.solver.CryptaSolutionException;
+import cryptator.solver.CryptaSolutionMap;
+import cryptator.specs.ICryptaNode;
+import cryptator.specs.ICryptaSolution;
+import cryptator.tree.TreeUtils;
+
+/**
+ * The Class CryptaCheckpoint saves the progress of a generation in a file, so
+ * that an interrupted generation can be resumed.
+ *
+ * The generation enumerates the candidates in a deterministic order. So, the
+ * search position is the number of candidates verified in this order, or the
+ * list of verified partitions if the candidates are enumerated by partitions.
+ * The verified cryptarithms are saved with their solutions, and replayed when
+ * the generation is resumed. The checkpoint is thread-safe.
+ */
+public final class CryptaCheckpoint {
+
+    /** The mapper of the checkpoint file. */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** The checkpoint file. */
+    private final File file;
+
+    /** The minimum delay between two periodic saves. */
+    private final long intervalNanos;
+
+    /** The logger. */
+    private final Logger logger;
+
+    /** The saved progress. */
+    private final GenerateCheckpoint state;
+
+    /** The indices of the verified candidates after the first unverified one. */
+    private final SortedSet<Long> verifiedAhead = new TreeSet<>();
+
+    /** The time of the last save. */
+    private long lastSaveTime;
+
+    /**
+     * Instantiates a new checkpoint.
+     *
+     * If the generation is resumed, the progress is loaded from the file unless it
+     * belongs to another generation.
+     *
+     * @param file            the checkpoint file
+     * @param fingerprint     the fingerprint of the generation
+     * @param resume          true to resume the generation from the file
+     * @param intervalSeconds the minimum delay in seconds between two periodic
+     *                        saves
+     * @param logger          the logger
+     */
+    public CryptaCheckpoint(final File file, final String fingerprint, final boolean resume,
+            final long intervalSeconds, final Logger logger) {
+        super();
+        this.file = file;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(Math.max(0, intervalSeconds));
+        this.logger = logger;
+        this.state = resume ? load(file, fingerprint, logger) : newState(fingerprint);
+        this.lastSaveTime = System.nanoTime();
+    }
+
+    private static GenerateCheckpoint newState(final String fingerprint) {
+        final GenerateCheckpoint state = new GenerateCheckpoint();
+        state.setFingerprint(fingerprint);
+        return state;
+    }
+
+    private static GenerateCheckpoint load(final File file, final String fingerprint, final Logger logger) {
+        if (!file.exists()) {
+            logger.log(Level.INFO, "No checkpoint to resume in {0}", file);
+            return newState(fingerprint);
+        }
+        try {
+            final GenerateCheckpoint state = MAPPER.readValue(file, GenerateCheckpoint.class);
+            if (fingerprint.equals(state.getFingerprint())) {
+                logger.log(Level.INFO, "Resume the generation after {0,number,#} candidate(s) and {1} partition(s).",
+                        new Object[] {state.getCandidateCount(), state.getPartitions()});
+                return state;
+            }
+            logger.log(Level.WARNING, "The checkpoint {0} belongs to another generation.", file);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Load the checkpoint [FAIL]", e);
+        }
+        return newState(fingerprint);
+    }
+
+    /**
+     * Computes the fingerprint of a generation.
+     *
+     * It identifies the words and the options that change the candidates, their
+     * order, their solutions, or whether they are verified.
+     *
+     * @param words  the word array
+     * @param config the configuration
+     * @return the fingerprint
+     */
+    public static String fingerprint(final WordArray words, final CryptagenConfig config) {
+        return config.getGenerateType() + " " + config.getRightMemberType() + " " + config.getGridSize() + " "
+                + config.getMinWords() + " " + config.getMaxWords() + " " + config.getArithmeticBase() + " "
+                + config.getAllowLeadingZeros() + " " + config.isLightModel() + " "
+                + new TreeMap<>(config.getAssignments()) + " " + (config.getGenThreads() > 1) + " "
+                + config.isDryRun() + " " + words.getWords().length + " " + digest(words.getWords());
+    }
+
+    /**
+     * Computes the SHA-256 digest of the words.
+     *
+     * @param words the words
+     * @return the hexadecimal digest
+     */
+    private static String digest(final String[] words) {
+        try {
+            final MessageDigest md = MessageDigest.getInstance("SHA-256");
+            for (String word : words) {
+                md.update(word.getBytes(StandardCharsets.UTF_8));
+                // The separator is not part of a word.
+                md.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gets the number of candidates verified in the order of the generation.
+     *
+     * @return the number of candidates to skip
+     */
+    public synchronized long getCandidateCount() {
+        return state.getCandidateCount();
+    }
+
+    /**
+     * Checks if a partition is verified.
+     *
+     * @param partition the partition
+     * @return true, if the candidates of the partition are skipped
+     */
+    public synchronized boolean isPartitionDone(final int partition) {
+        return state.getPartitions().contains(partition);
+    }
+
+    /**
+     * Record that a candidate is verified.
+     *
+     * The candidates can be verified in any order, but the search position only
+     * moves forward over a prefix of verified candidates.
+     *
+     * @param index the index of the candidate in the order of the generation
+     */
+    public synchronized void candidateDone(final long index) {
+        long count = state.getCandidateCount();
+        if (index == count) {
+            count++;
+            while (verifiedAhead.remove(count)) {
+                count++;
+            }
+            state.setCandidateCount(count);
+        } else if (index > count) {
+            verifiedAhead.add(index);
+        }
+        saveIfDue();
+    }
+
+    /**
+     * Record that the candidates of a partition are verified.
+     *
+     * @param partition the partition
+     */
+    public synchronized void partitionDone(final int partition) {
+        if (!state.getPartitions().contains(partition)) {
+            state.getPartitions().add(partition);
+        }
+        saveIfDue();
+    }
+
+    private static String formatSolution(final ICryptaNode cryptarithm, final ICryptaSolution solution) {
+        final StringBuilder b = new StringBuilder();
+        for (char symbol : TreeUtils.computeSymbols(cryptarithm)) {
+            if (solution.hasDigit(symbol)) {
+                if (b.length() > 0) {
+                    b.append(' ');
+                }
+                b.append(symbol).append('=').append(solution.getDigit(symbol, 0));
+            }
+        }
+        return b.toString();
+    }
+
+    /**
+     * Record a verified cryptarithm.
+     *
+     * A cryptarithm found before the last checkpoint can be found again, because
+     * the candidates after the search position are verified again.
+     *
+     * @param cryptarithm the cryptarithm
+     * @param solution    its solution
+     * @return true, if the cryptarithm was not recorded yet
+     */
+    public synchronized boolean resultFound(final ICryptaNode cryptarithm, final ICryptaSolution solution) {
+        return state.getResults().putIfAbsent(TreeUtils.writeInorder(cryptarithm),
+                formatSolution(cryptarithm, solution)) == null;
+    }
+
+    /**
+     * Replay the cryptarithms recorded by the checkpoint.
+     *
+     * @param consumer the consumer for valid cryptarithms
+     * @return the number of replayed cryptarithms
+     */
+    public long replay(final BiConsumer<ICryptaNode, ICryptaSolution> consumer) {
+        final Map<String, String> results;
+        synchronized (this) {
+            results = new TreeMap<>(state.getResults());
+        }
+        final CryptaParserWrapper parser = new CryptaParserWrapper();
+        long count = 0;
+        for (Map.Entry<String, String> result : results.entrySet()) {
+            try {
+                consumer.accept(parser.parse(result.getKey()), CryptaSolutionMap.parseSolution(result.getValue()));
+                count++;
+            } catch (CryptaParserException | CryptaSolutionException e) {
+                logger.log(Level.WARNING, "Replay the checkpoint cryptarithm [FAIL]", e);
+            }
+        }
+        return count;
+    }
+
+    private void saveIfDue() {
+        if (System.nanoTime() - lastSaveTime >= intervalNanos) {
+            save();
+        }
+    }
+
+    /**
+     * Save the checkpoint.
+     *
+     * The checkpoint is written in a temporary file that replaces the checkpoint
+     * file, so a crash never leaves a partial checkpoint.
+     */
+    public synchronized void save() {
+        try {
+            final Path target = file.getAbsoluteFile().toPath();
+            final Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                MAPPER.writeValue(tmp.toFile(), state);
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Save the checkpoint [FAIL]", e);
+        }
+        lastSaveTime = System.nanoTime();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "candidates " + state.getCandidateCount() + " partitions " + state.getPartitions() + " results "
+                + state.getResults().size();
+    }
+}
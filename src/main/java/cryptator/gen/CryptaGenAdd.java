@@ -9,9 +9,12 @@
 package cryptator.gen;
 
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.Constraint;
 import org.chocosolver.solver.variables.IntVar;
 import org.chocosolver.util.tools.ArrayUtils;
 
+import cryptator.choco.PropAdditionColumns;
+import cryptator.gen.member.CryptaMemberElt;
 import cryptator.gen.member.CryptaMemberPair;
 import cryptator.specs.ICryptaNode;
 
@@ -44,6 +47,14 @@ public class CryptaGenAdd extends AbstractCryptaListModel {
         addition.postHeavyConstraints(base);
     }
 
+    @Override
+    public void postColumnConstraints(final int base) {
+        if (addition.getRight() instanceof CryptaMemberElt) {
+            new Constraint("additionColumns", new PropAdditionColumns(addition.getLeft().getWordVars(),
+                    addition.getRight().getWordVars(), addition.getLeft().getWordCount(), words, base)).post();
+        }
+    }
+
     public void postFixedRightMemberConstraints() {
         addition.postFixedRightMemberConstraints();
     }
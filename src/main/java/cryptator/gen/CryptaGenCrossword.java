@@ -8,79 +8,109 @@
  */
 package cryptator.gen;
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.chocosolver.solver.Model;
+import org.chocosolver.solver.constraints.extension.Tuples;
 import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.tools.ArrayUtils;
 
 import cryptator.CryptaOperator;
-import cryptator.gen.member.CryptaMemberPair;
 import cryptator.gen.pattern.CryptaGridModel;
-import cryptator.specs.ICryptaGenSolver;
 import cryptator.specs.ICryptaNode;
+import cryptator.tree.CryptaLeaf;
 
-class CryptaCrossPair extends CryptaMemberPair {
-
-    private final IntVar[] indices;
-
-    public CryptaCrossPair(final IntVar[] indices, final String[] words, final String prefix) {
-        super(indices[indices.length - 1], words, prefix);
-        this.indices = indices;
-    }
-
-    @Override
-    public void buildModel() {
-        super.buildModel();
-        postLeftChannelingConstraints();
-
-    }
-
-    private void postLeftChannelingConstraints() {
-        final IntVar one = getModel().intVar(1);
-        for (int j = 0; j < indices.length - 1; j++) {
-            getModel().element(one, left.getWordVars(), indices[j], 0).post();
-        }
-        left.getWordCount().eq(indices.length - 1).post();
-    }
-
-    Stream<IntVar> maxLengthStream() {
-        return Stream.of(left.getMaxLength(), right.getMaxLength());
-    }
-}
-
+/**
+ * The Class CryptaGenCrossword generates a square grid of words in which each
+ * row and each column is an addition: the last word of the line is the sum of
+ * the others.
+ *
+ * A line is modeled by the word indices of its cells only. Each cell has a
+ * length variable, and a line constrains the maximum length of its left words
+ * and the length of its right word with a small table. So, a line has O(n)
+ * variables whatever the number of words.
+ */
 public class CryptaGenCrossword extends AbstractCryptaListModel {
 
+    /** The grid dimension. */
     private final int n;
 
+    /** The grid of word indices. */
     private final CryptaGridModel grid;
 
-    private final CryptaCrossPair[] additions;
+    /** The lengths of the words of the cells. */
+    private final IntVar[][] lengths;
 
+    /** The transposed lengths. */
+    private final IntVar[][] tlengths;
+
+    /** The maximum length of the left words of each line (rows then columns). */
+    private final IntVar[] leftMaxLengths;
+
+    /**
+     * Instantiates a new crossword model.
+     *
+     * @param n     the grid dimension is 'n x n'
+     * @param words the words
+     */
     public CryptaGenCrossword(final int n, final String[] words) {
         super(new Model("Generate-Crossword"), words);
         this.n = n;
         this.grid = new CryptaGridModel(model, n, words.length);
-        this.additions = new CryptaCrossPair[2 * n];
-        createMembers();
-    }
-
-    private void createMembers() {
+        final int[] domain = IntStream.of(getLengths(words)).distinct().sorted().toArray();
+        this.lengths = new IntVar[n][n];
         for (int i = 0; i < n; i++) {
-            final String prefix = "R" + (i + 1) + "_";
-            additions[i] = new CryptaCrossPair(grid.getRow(i), words, prefix);
+            for (int j = 0; j < n; j++) {
+                lengths[i][j] = model.intVar("len_" + (i + 1) + "_" + (j + 1), domain);
+            }
         }
-
+        this.tlengths = ArrayUtils.transpose(lengths);
+        this.leftMaxLengths = new IntVar[2 * n];
         for (int i = 0; i < n; i++) {
-            final String prefix = "C" + (i + 1) + "_";
-            additions[n + i] = new CryptaCrossPair(grid.getCol(i), words, prefix);
+            leftMaxLengths[i] = model.intVar("R" + (i + 1) + "_maxLength", domain);
+            leftMaxLengths[n + i] = model.intVar("C" + (i + 1) + "_maxLength", domain);
         }
     }
 
+    /**
+     * Gets the word indices of a line.
+     *
+     * @param i the line index: the rows come first, then the columns
+     * @return the word indices of the line
+     */
+    private IntVar[] getLine(final int i) {
+        return i < n ? grid.getRow(i) : grid.getCol(i - n);
+    }
+
+    /**
+     * Gets the word lengths of a line.
+     *
+     * @param i the line index: the rows come first, then the columns
+     * @return the word lengths of the line
+     */
+    private IntVar[] getLineLengths(final int i) {
+        return i < n ? lengths[i] : tlengths[i - n];
+    }
+
     @Override
     public void buildModel() {
         super.buildModel();
         grid.buildModel();
-        Stream.of(additions).forEach(CryptaCrossPair::buildModel);
+        postLineConstraints();
+    }
+
+    /**
+     * Post the length constraints of the lines. The left words of a line are not
+     * longer than its right word.
+     */
+    private void postLineConstraints() {
+        for (int i = 0; i < 2 * n; i++) {
+            final IntVar[] line = getLineLengths(i);
+            model.max(leftMaxLengths[i], Arrays.copyOf(line, n - 1)).post();
+            leftMaxLengths[i].le(line[n - 1]).post();
+        }
     }
 
     @Override
@@ -95,15 +125,20 @@ public class CryptaGenCrossword extends AbstractCryptaListModel {
 
     @Override
     public void postHeavyConstraints(final int base) {
-        Stream.of(additions).forEach(m -> m.postHeavyConstraints(base));
+        final Tuples tuples = WordSumTuplesBuilder.getTuples(base, getLengths(words), n - 1);
+        for (int i = 0; i < 2 * n; i++) {
+            model.table(new IntVar[] {leftMaxLengths[i], getLineLengths(i)[n - 1]}, tuples).post();
+        }
     }
 
     @Override
     protected void postWordConstraints() {
         final IntVar one = model.intVar(1);
+        final int[] wordLengths = getLengths(words);
         for (int i = 0; i < n; i++) {
             for (int j = 0; j < n; j++) {
                 model.element(one, vwords, grid.getCell(i, j), 0).post();
+                model.element(lengths[i][j], wordLengths, grid.getCell(i, j)).post();
             }
         }
     }
@@ -116,13 +151,27 @@ public class CryptaGenCrossword extends AbstractCryptaListModel {
 
     @Override
     protected void postMaxLengthConstraints() {
-        IntVar[] vars = Stream.of(additions).flatMap(CryptaCrossPair::maxLengthStream).toArray(i -> new IntVar[i]);
-        model.max(getMaxLength(), vars).post();
+        model.max(getMaxLength(), ArrayUtils.flatten(lengths)).post();
+    }
+
+    /**
+     * Record the addition of a line. The left words are sorted by index.
+     *
+     * @param i the line index
+     * @return the equation of the line
+     */
+    private ICryptaNode recordLine(final int i) {
+        final IntVar[] line = getLine(i);
+        final Stream<ICryptaNode> leftNodes = Stream.of(line).limit(n - 1L).mapToInt(IntVar::getValue).sorted()
+                .mapToObj(k -> new CryptaLeaf(words[k]));
+        return GenerateUtil.reduceOperation(CryptaOperator.EQ,
+                GenerateUtil.reduceOperation(CryptaOperator.ADD, leftNodes),
+                new CryptaLeaf(words[line[n - 1].getValue()]));
     }
 
     @Override
     public final ICryptaNode recordCryptarithm() {
-        final Stream<ICryptaNode> additionNodes = Stream.of(additions).map(ICryptaGenSolver::recordCryptarithm);
+        final Stream<ICryptaNode> additionNodes = IntStream.range(0, 2 * n).mapToObj(this::recordLine);
         return GenerateUtil.reduceOperation(CryptaOperator.AND, additionNodes);
     }
 
@@ -0,0 +1,214 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.gen;
+
+import java.lang.ref.Cleaner;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import cryptator.solver.CryptaModelException;
+import cryptator.specs.ICryptaGenerator;
+
+/**
+ * The Class CryptaGenerationIterator pulls the cryptarithms of a generator.
+ *
+ * The generation starts on a daemon thread when the first cryptarithm is
+ * requested, and waits when a few cryptarithms are not consumed yet. Closing
+ * the iterator stops the generator if the generation is not over, so the
+ * search ends as soon as the downstream has taken what it needs. An iterator
+ * that is not closed stops the generator once it is garbage collected.
+ */
+public final class CryptaGenerationIterator implements Iterator<GeneratedCryptarithm>, AutoCloseable {
+
+    /** The cleaner that stops the generation of the unreachable iterators. */
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /** The number of generated cryptarithms waiting to be consumed. */
+    private static final int CAPACITY = 16;
+
+    /** The end of the generation. */
+    private static final GeneratedCryptarithm END = new GeneratedCryptarithm(null, null);
+
+    /** The state shared with the generation thread. */
+    private final Generation generation;
+
+    /** The cleaning action. */
+    private final Cleaner.Cleanable cleanable;
+
+    /** The next cryptarithm, or null if it is not taken yet. */
+    private GeneratedCryptarithm next;
+
+    /**
+     * Instantiates a new iterator.
+     *
+     * @param generator the generator
+     */
+    public CryptaGenerationIterator(final ICryptaGenerator generator) {
+        super();
+        this.generation = new Generation(generator);
+        this.cleanable = CLEANER.register(this, generation::cancel);
+    }
+
+    /**
+     * Streams the cryptarithms of a generator.
+     *
+     * The stream must be closed to stop the generation early.
+     *
+     * @param generator the generator
+     * @return the stream of generated cryptarithms
+     */
+    public static Stream<GeneratedCryptarithm> stream(final ICryptaGenerator generator) {
+        final CryptaGenerationIterator iterator = new CryptaGenerationIterator(generator);
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(iterator::close);
+    }
+
+    /**
+     * Checks if there is another cryptarithm, and wait for it if required.
+     *
+     * @return true, if there is another cryptarithm
+     * @throws IllegalStateException if the generation failed
+     */
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = generation.take();
+        }
+        if (next == END) {
+            close();
+            if (generation.error != null) {
+                throw new IllegalStateException("Generation [FAIL]", generation.error);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public GeneratedCryptarithm next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final GeneratedCryptarithm cryptarithm = next;
+        next = null;
+        return cryptarithm;
+    }
+
+    /**
+     * Stop the generation. The cryptarithms that are not consumed are discarded.
+     */
+    @Override
+    public void close() {
+        cancel();
+        next = END;
+    }
+
+    /**
+     * Stop the generation from any thread. The iterator waiting for a cryptarithm
+     * reaches the end of the generation.
+     */
+    void cancel() {
+        cleanable.clean();
+    }
+
+    /**
+     * The Class Generation runs the generator and hands the cryptarithms over to
+     * the iterator. It must not reference the iterator, so that the iterator can
+     * be cleaned.
+     */
+    private static final class Generation implements Runnable {
+
+        /** The generator. */
+        private final ICryptaGenerator generator;
+
+        /** The generated cryptarithms waiting to be consumed. */
+        private final BlockingQueue<GeneratedCryptarithm> queue = new ArrayBlockingQueue<>(CAPACITY);
+
+        /** True if the generation is cancelled. */
+        private volatile boolean cancelled;
+
+        /** True if the generation thread is started. */
+        private volatile boolean started;
+
+        /** True if the generation is over. */
+        private volatile boolean finished;
+
+        /** The error of the generation, or null. */
+        private volatile Exception error;
+
+        Generation(final ICryptaGenerator generator) {
+            super();
+            this.generator = generator;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (!cancelled) {
+                    generator.generate(
+                            (cryptarithm, solution) -> offer(new GeneratedCryptarithm(cryptarithm, solution)));
+                }
+            } catch (CryptaModelException | RuntimeException e) {
+                error = e;
+            } finally {
+                finished = true;
+                offer(END);
+            }
+        }
+
+        /**
+         * Hand a cryptarithm over, and wait while the queue is full unless the
+         * generation is cancelled. The cryptarithm can be offered by the threads
+         * that solve the candidates.
+         */
+        private void offer(final GeneratedCryptarithm cryptarithm) {
+            try {
+                while (!cancelled && !queue.offer(cryptarithm, 100, TimeUnit.MILLISECONDS)) {
+                    // Wait until the iterator takes a cryptarithm.
+                }
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private GeneratedCryptarithm take() {
+            if (!started && !cancelled) {
+                started = true;
+                final Thread thread = new Thread(this, "generation");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return END;
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            if (started && !finished) {
+                generator.stop();
+            }
+            queue.clear();
+            queue.offer(END);
+        }
+    }
+}
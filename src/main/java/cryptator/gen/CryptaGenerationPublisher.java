@@ -0,0 +1,166 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.gen;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import cryptator.specs.ICryptaGenerator;
+
+/**
+ * The Class CryptaGenerationPublisher publishes the cryptarithms of a generator
+ * to a single subscriber.
+ *
+ * The cryptarithms are delivered on a daemon thread with respect to the demand
+ * of the subscriber. The generation stops when the subscription is cancelled.
+ */
+public final class CryptaGenerationPublisher implements Flow.Publisher<GeneratedCryptarithm> {
+
+    /** The generator. */
+    private final ICryptaGenerator generator;
+
+    /** True if a subscriber has subscribed. */
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Instantiates a new publisher.
+     *
+     * @param generator the generator
+     */
+    public CryptaGenerationPublisher(final ICryptaGenerator generator) {
+        super();
+        this.generator = generator;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super GeneratedCryptarithm> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new RejectedSubscription());
+            subscriber.onError(new IllegalStateException("The generator is already subscribed."));
+            return;
+        }
+        final GenerationSubscription subscription = new GenerationSubscription(subscriber,
+                new CryptaGenerationIterator(generator));
+        subscriber.onSubscribe(subscription);
+        final Thread thread = new Thread(subscription, "publication");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * The Class RejectedSubscription is the subscription of a rejected subscriber.
+     */
+    private static final class RejectedSubscription implements Flow.Subscription {
+
+        @Override
+        public void request(final long n) {
+            // Nothing to deliver.
+        }
+
+        @Override
+        public void cancel() {
+            // Nothing to cancel.
+        }
+    }
+
+    /**
+     * The Class GenerationSubscription delivers the cryptarithms of an iterator.
+     */
+    private static final class GenerationSubscription implements Flow.Subscription, Runnable {
+
+        /** The subscriber. */
+        private final Flow.Subscriber<? super GeneratedCryptarithm> subscriber;
+
+        /** The iterator of the generated cryptarithms. */
+        private final CryptaGenerationIterator iterator;
+
+        /** The number of cryptarithms requested and not delivered yet. */
+        private long demand;
+
+        /** True if the subscription is cancelled. */
+        private boolean cancelled;
+
+        /** The invalid request, or null. */
+        private IllegalArgumentException invalidRequest;
+
+        GenerationSubscription(final Flow.Subscriber<? super GeneratedCryptarithm> subscriber,
+                final CryptaGenerationIterator iterator) {
+            super();
+            this.subscriber = subscriber;
+            this.iterator = iterator;
+        }
+
+        @Override
+        public synchronized void request(final long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("The request must be positive: " + n);
+            } else {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            notifyAll();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                notifyAll();
+            }
+            iterator.cancel();
+        }
+
+        /**
+         * Wait until a cryptarithm is requested.
+         *
+         * @return false if the subscription is cancelled or the request is invalid
+         * @throws InterruptedException if interrupted while waiting
+         */
+        private synchronized boolean awaitDemand() throws InterruptedException {
+            while (demand == 0 && !cancelled && invalidRequest == null) {
+                wait();
+            }
+            if (cancelled || invalidRequest != null) {
+                return false;
+            }
+            demand--;
+            return true;
+        }
+
+        private synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (awaitDemand() && iterator.hasNext()) {
+                    subscriber.onNext(iterator.next());
+                }
+                final IllegalArgumentException error;
+                synchronized (this) {
+                    error = invalidRequest;
+                    cancelled |= error != null;
+                }
+                if (error != null) {
+                    subscriber.onError(error);
+                } else if (!isCancelled()) {
+                    subscriber.onComplete();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                if (!isCancelled()) {
+                    subscriber.onError(e);
+                }
+            } finally {
+                iterator.close();
+            }
+        }
+    }
+}
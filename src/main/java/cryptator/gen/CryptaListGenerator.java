@@ -8,15 +8,28 @@
  */
 package cryptator.gen;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.IntStream;
 
 import org.chocosolver.solver.Solution;
 import org.chocosolver.solver.Solver;
@@ -28,7 +41,9 @@ import cryptator.cmd.WordArray;
 import cryptator.config.CryptagenConfig;
 import cryptator.config.CryptagenConfig.RightMemberType;
 import cryptator.solver.CryptaModelException;
+import cryptator.solver.CryptaSolutionException;
 import cryptator.solver.CryptaSolverException;
+import cryptator.solver.CryptaTemplateSolver;
 import cryptator.specs.IChocoModel;
 import cryptator.specs.ICryptaGenSolver;
 import cryptator.specs.ICryptaGenerator;
@@ -46,9 +61,22 @@ public class CryptaListGenerator implements ICryptaGenerator {
 
     private static final int MIN_WORDS = 3;
 
+    /** The capacity of the candidate queue per worker. */
+    private static final int QUEUE_CAPACITY_PER_WORKER = 4;
+
+    /** The callback of a candidate whose verification is not tracked. */
+    private static final Runnable NO_CALLBACK = () -> {
+    };
+
     /** The words. */
     private final WordArray words;
 
+    /** The words of the generation model. */
+    private final String[] modelWords;
+
+    /** The indices of the words that can be part of a valid cryptarithm. */
+    private final BitSet candidateWords;
+
     /** The config. */
     private final CryptagenConfig config;
 
@@ -61,6 +89,18 @@ public class CryptaListGenerator implements ICryptaGenerator {
     /** The error count. */
     private final AtomicInteger errorCount;
 
+    /** The filters applied to the candidates before solving them. */
+    private final CryptaCandidateFilters filters;
+
+    /** The cache of outcomes of isomorphic candidates, or null if disabled. */
+    private final CryptaPatternCache patternCache;
+
+    /** The checkpoint of the generation, or null if disabled. */
+    private final CryptaCheckpoint checkpoint;
+
+    /** True if the generation is stopped. */
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
     /**
      * Instantiates a new cryptarithm generator.
      *
@@ -73,8 +113,22 @@ public class CryptaListGenerator implements ICryptaGenerator {
         this.words = words;
         this.config = config;
         this.logger = logger;
+        final CryptaWordIndex index = new CryptaWordIndex(words.getWords());
+        this.candidateWords = index.computeCandidateWords(config);
+        // The doubly true constraints depend on the index of the words.
+        this.modelWords = words.isDoublyTrue() ? words.getWords() : index.getWords(candidateWords);
+        logger.log(Level.CONFIG, "Word index: {0,number,#} word(s) out of {1,number,#}",
+                new Object[] {candidateWords.cardinality(), words.getWords().length});
         this.clog = new ChocoLogger(logger);
         this.errorCount = new AtomicInteger();
+        this.filters = new CryptaCandidateFilters(config);
+        // The assignments depend on the names of the symbols.
+        this.patternCache = config.getPatternCacheCapacity() > 0 && config.getAssignments().isEmpty()
+                ? new CryptaPatternCache(config.getPatternCacheCapacity())
+                : null;
+        this.checkpoint = config.getCheckpointFile() == null ? null
+                : new CryptaCheckpoint(config.getCheckpointFile(), CryptaCheckpoint.fingerprint(words, config),
+                        config.isResume(), config.getCheckpointInterval(), logger);
     }
 
     /**
@@ -94,40 +148,66 @@ public class CryptaListGenerator implements ICryptaGenerator {
     private AbstractCryptaListModel createGenModel() {
         switch (config.getGenerateType()) {
         case MUL:
-            return new CryptaGenMult(words.getWords(), config.getRightMemberType() != RightMemberType.FREE);
+            return new CryptaGenMult(modelWords, config.getRightMemberType() != RightMemberType.FREE);
         case LMUL:
-            return new CryptaGenLongMult(words.getWords(), config.getArithmeticBase());
+            return new CryptaGenLongMult(modelWords, config.getArithmeticBase());
         case CROSS:
-            return new CryptaGenCrossword(config.getGridSize(), words.getWords());
+            return new CryptaGenCrossword(config.getGridSize(), modelWords);
         default:
-            return new CryptaGenAdd(words.getWords(), config.getRightMemberType() != RightMemberType.FREE);
+            return new CryptaGenAdd(modelWords, config.getRightMemberType() != RightMemberType.FREE);
         }
     }
 
     /**
      * Builds the generation solver.
      *
-     * It creates, builds and configures the generation model.
+     * It creates, builds and configures the generation model over the words that
+     * can be part of a valid cryptarithm. Its search ends when the generator is
+     * stopped.
      *
      * @return the generation solver
      */
-    private ICryptaGenSolver buildGenSolver() {
+    private AbstractCryptaListModel buildGenSolver() {
         final AbstractCryptaListModel gen = createGenModel();
         gen.buildModel();
+        gen.getSolver().addStopCriterion(stopped::get);
         gen.postWordCountConstraints(Math.max(config.getMinWords(), MIN_WORDS), config.getMaxWords());
         gen.postMaxSymbolCountConstraint(config.getArithmeticBase());
         if (!config.isLightModel()) {
             gen.postHeavyConstraints(config.getArithmeticBase());
+            if (!config.getAllowLeadingZeros() && config.getAssignments().isEmpty()) {
+                gen.postColumnConstraints(config.getArithmeticBase());
+            }
         }
         if (config.getRightMemberType() == RightMemberType.FIXED) {
             gen.postFixedRightMemberConstraints();
         }
         if (words.isDoublyTrue()) {
+            gen.postAbsentWordConstraints(candidateWords);
             gen.postDoublyTrueConstraints(words.getLB());
         }
         return gen;
     }
 
+    /**
+     * Creates the solver for candidate cryptarithms.
+     *
+     * The scalar and bignum models are built from templates that are reused by
+     * candidates with the same shape. A solver is used by a single thread.
+     *
+     * @return the candidate solver
+     */
+    private ICryptaSolver createCandidateSolver() {
+        switch (config.getSolverType()) {
+        case SCALAR:
+            return new CryptaTemplateSolver(false);
+        case BIGNUM:
+            return new CryptaTemplateSolver(true);
+        default:
+            return Cryptator.createSolver(config);
+        }
+    }
+
     /**
      * Builds the consumer for candidate cryptarithms .
      *
@@ -138,69 +218,512 @@ public class CryptaListGenerator implements ICryptaGenerator {
     private Consumer<ICryptaNode> buildConsumer(final IChocoModel gen,
             final BiConsumer<ICryptaNode, ICryptaSolution> consumer) {
         final Consumer<ICryptaNode> cons = new LogConsumer(gen);
-        final ICryptaSolver solver = Cryptator.createSolver(config);
-        return config.isDryRun() ? cons : cons.andThen(new GenerateConsumer(solver, consumer));
+        return config.isDryRun() ? cons : cons.andThen(new GenerateConsumer(createCandidateSolver(), consumer));
+    }
+
+    /**
+     * Gets the number of candidates verified before the checkpoint.
+     *
+     * @return the number of candidates to skip
+     */
+    private long getSkippedCandidates() {
+        return checkpoint == null ? 0 : checkpoint.getCandidateCount();
+    }
+
+    /**
+     * Gets the callback of a verified candidate.
+     *
+     * @param index the index of the candidate in the order of the generation
+     * @return the callback
+     */
+    private Runnable onCandidateDone(final long index) {
+        return isProgressRecorded() ? () -> checkpoint.candidateDone(index) : NO_CALLBACK;
+    }
+
+    /**
+     * Checks if the progress is recorded in the checkpoint. A dry run verifies
+     * no candidate, so it records nothing.
+     *
+     * @return true, if the progress is recorded
+     */
+    private boolean isProgressRecorded() {
+        return checkpoint != null && !config.isDryRun();
     }
 
     /**
      * Solve the candidates in sequential.
      *
+     * The candidates verified before the checkpoint are skipped.
+     *
      * @param gen  the generation solver
      * @param cons the candidate consumer
      */
     private void sequentialSolve(final ICryptaGenSolver gen, final Consumer<ICryptaNode> cons) {
+        final long skipped = getSkippedCandidates();
         final Solver s = gen.getSolver();
+        long index = 0;
         while (s.solve()) {
-            cons.accept(gen.recordCryptarithm());
+            final ICryptaNode cryptarithm = gen.recordCryptarithm();
+            if (index >= skipped) {
+                cons.accept(cryptarithm);
+                onCandidateDone(index).run();
+            }
+            index++;
         }
     }
 
     /**
-     * Solve the candidates in parallel (experimental).
+     * Creates an executor that starts a virtual thread per task.
+     *
+     * The virtual threads are created by reflection, so that the generation runs
+     * on older runtimes with a cached pool of daemon threads.
+     *
+     * @return the task executor
+     */
+    private static ExecutorService newTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                final Thread thread = new Thread(r, "candidate");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Creates the pipeline that solves the candidates with respect to the
+     * configuration.
+     *
+     * @param consumer the consumer for valid cryptarithms
+     * @return the pipeline, or null if the candidates are solved by the generation
+     *         threads
+     */
+    private CandidatePipeline createPipeline(final BiConsumer<ICryptaNode, ICryptaSolution> consumer) {
+        if (config.isDryRun()) {
+            return null;
+        } else if (config.isVirtualThreads()) {
+            return new TaskPipeline(consumer, config.getMaxConcurrency());
+        } else if (config.getNthreads() > 1) {
+            return new WorkerPipeline(consumer, config.getNthreads());
+        }
+        return null;
+    }
+
+    /**
+     * Solve the candidates in parallel.
+     *
+     * The generation solver produces the candidates on the calling thread into a
+     * pipeline. The candidates verified before the checkpoint are skipped.
      *
      * @param gen      the generation solver
-     * @param cons     the candidate consumer
-     * @param nthreads the number of threads
+     * @param pipeline the pipeline that solves the candidates
      */
-    private static void parallelSolve(final ICryptaGenSolver gen, final Consumer<ICryptaNode> cons,
-            final int nthreads) {
-        final ExecutorService executor = Executors.newFixedThreadPool(nthreads);
+    private void parallelSolve(final ICryptaGenSolver gen, final CandidatePipeline pipeline) {
+        final long skipped = getSkippedCandidates();
+        final Consumer<ICryptaNode> log = new LogConsumer(gen);
         final Solver s = gen.getSolver();
-        while (s.solve()) {
-            final ICryptaNode cryptarithm = gen.recordCryptarithm();
-            executor.execute(() -> cons.accept(cryptarithm));
+        long index = 0;
+        try {
+            try {
+                while (s.solve()) {
+                    final ICryptaNode cryptarithm = gen.recordCryptarithm();
+                    if (index >= skipped) {
+                        log.accept(cryptarithm);
+                        pipeline.put(cryptarithm, onCandidateDone(index));
+                    }
+                    index++;
+                }
+            } finally {
+                pipeline.close();
+            }
+        } catch (InterruptedException e) {
+            pipeline.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Enumerate the candidates of the partitions until there is no partition left.
+     *
+     * Each partition is enumerated by a new generation solver whose maximum word
+     * length is fixed.
+     *
+     * @param partitions the maximum lengths of the partitions
+     * @param consumer   the consumer for valid cryptarithms
+     * @param pipeline   the pipeline that solves the candidates, or null to solve
+     *                   them on the current thread
+     * @return the number of candidates
+     * @throws InterruptedException if interrupted while waiting for the pipeline
+     */
+    private long enumeratePartitions(final Queue<Integer> partitions,
+            final BiConsumer<ICryptaNode, ICryptaSolution> consumer, final CandidatePipeline pipeline)
+            throws InterruptedException {
+        final Consumer<ICryptaNode> generate = pipeline != null || config.isDryRun() ? null
+                : new GenerateConsumer(createCandidateSolver(), consumer);
+        long candidateCount = 0;
+        Integer length = partitions.poll();
+        while (length != null && !stopped.get()) {
+            final AbstractCryptaListModel gen = buildGenSolver();
+            gen.getMaxLength().eq(length).post();
+            final Consumer<ICryptaNode> log = new LogConsumer(gen);
+            final PartitionProgress progress = new PartitionProgress(length);
+            final Solver s = gen.getSolver();
+            while (s.solve()) {
+                final ICryptaNode cryptarithm = gen.recordCryptarithm();
+                log.accept(cryptarithm);
+                if (pipeline != null) {
+                    progress.submit();
+                    pipeline.put(cryptarithm, progress);
+                } else if (generate != null) {
+                    generate.accept(cryptarithm);
+                }
+            }
+            if (!stopped.get()) {
+                // A stopped partition is not recorded as enumerated.
+                progress.run();
+            }
+            clog.logOnSolver(gen);
+            candidateCount += s.getSolutionCount();
+            length = partitions.poll();
+        }
+        return candidateCount;
+    }
+
+    /**
+     * Enumerate the candidates by partitions in parallel.
+     *
+     * The candidates are partitioned on the maximum word length, which is fixed by
+     * each candidate, so every candidate belongs to exactly one partition. The
+     * generation threads take the partitions from the longest to the shortest
+     * words. There is a partition for each distinct length of the words. The
+     * candidates are solved by a pipeline if the configuration requires one, or
+     * else by the generation threads. The partitions verified before the
+     * checkpoint are skipped.
+     *
+     * @param consumer the consumer for valid cryptarithms
+     * @return the number of candidates
+     */
+    private long partitionedSolve(final BiConsumer<ICryptaNode, ICryptaSolution> consumer) {
+        final int[] lengths = IntStream.of(AbstractCryptaGenModel.getLengths(modelWords)).distinct().sorted().toArray();
+        final Queue<Integer> partitions = new ConcurrentLinkedQueue<>();
+        for (int i = lengths.length - 1; i >= 0; i--) {
+            if (checkpoint == null || !checkpoint.isPartitionDone(lengths[i])) {
+                partitions.add(lengths[i]);
+            }
+        }
+        final CandidatePipeline pipeline = createPipeline(consumer);
+        final int nthreads = config.getGenThreads();
+        final ExecutorService executor = Executors.newFixedThreadPool(nthreads);
+        final List<Future<Long>> producers = new ArrayList<>(nthreads);
+        for (int i = 0; i < nthreads; i++) {
+            producers.add(executor.submit(() -> enumeratePartitions(partitions, consumer, pipeline)));
         }
+        executor.shutdown();
+        long candidateCount = 0;
         try {
-            if (!executor.awaitTermination(10000, TimeUnit.MILLISECONDS)) {
-                executor.shutdownNow();
+            try {
+                for (Future<Long> producer : producers) {
+                    candidateCount += producer.get();
+                }
+            } finally {
+                if (pipeline != null) {
+                    pipeline.close();
+                }
             }
         } catch (InterruptedException e) {
             executor.shutdownNow();
+            if (pipeline != null) {
+                pipeline.shutdownNow();
+            }
             Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            errorCount.incrementAndGet();
+            logger.log(Level.SEVERE, "Generation partition [FAIL]", e.getCause());
         }
+        return candidateCount;
+    }
+
+    @Override
+    public void stop() {
+        stopped.set(true);
     }
 
     @Override
     public long generate(final BiConsumer<ICryptaNode, ICryptaSolution> consumer) throws CryptaModelException {
-        final ICryptaGenSolver gen = buildGenSolver();
-        clog.logOnModel(gen);
+        if (!words.isDoublyTrue() && modelWords.length < MIN_WORDS) {
+            logger.log(Level.CONFIG, "Word index: less than {0} candidate words, no candidate cryptarithm.",
+                    MIN_WORDS);
+            return 0;
+        }
+        final BiConsumer<ICryptaNode, ICryptaSolution> output;
+        if (checkpoint == null) {
+            output = consumer;
+        } else {
+            checkpoint.replay(consumer);
+            output = (cryptarithm, solution) -> {
+                if (checkpoint.resultFound(cryptarithm, solution)) {
+                    consumer.accept(cryptarithm, solution);
+                }
+            };
+        }
+        final long candidateCount;
+        try {
+            if (config.getGenThreads() > 1) {
+                candidateCount = partitionedSolve(output);
+            } else {
+                final AbstractCryptaListModel gen = buildGenSolver();
+                clog.logOnModel(gen);
+                final CandidatePipeline pipeline = createPipeline(output);
+                if (pipeline == null) {
+                    sequentialSolve(gen, buildConsumer(gen, output));
+                } else {
+                    parallelSolve(gen, pipeline);
+                }
+                clog.logOnSolver(gen);
+                candidateCount = gen.getSolver().getSolutionCount();
+            }
+        } finally {
+            if (checkpoint != null) {
+                checkpoint.save();
+                logger.log(Level.CONFIG, "Checkpoint: {0}", checkpoint);
+            }
+        }
+        if (!config.isDryRun()) {
+            logger.log(Level.CONFIG, "Candidate filters: {0}", filters);
+        }
+        if (patternCache != null) {
+            logger.log(Level.CONFIG, "Pattern cache: {0}", patternCache);
+        }
+        return candidateCount;
+    }
 
-        final Consumer<ICryptaNode> cons = buildConsumer(gen, consumer);
+    /**
+     * The Class CandidatePipeline solves the candidates on other threads.
+     */
+    private abstract static class CandidatePipeline {
 
-        final int nthreads = config.getNthreads();
-        if (nthreads == 1) {
-            sequentialSolve(gen, cons);
-        } else {
-            parallelSolve(gen, cons, nthreads);
+        /**
+         * Submit a candidate, and wait if the pipeline is full.
+         *
+         * @param cryptarithm the candidate
+         * @param done        the callback run once the candidate is verified
+         * @throws InterruptedException if interrupted while waiting
+         */
+        abstract void put(ICryptaNode cryptarithm, Runnable done) throws InterruptedException;
+
+        /**
+         * Wait until all the candidates are solved, and release the threads.
+         *
+         * @throws InterruptedException if interrupted while waiting
+         */
+        abstract void close() throws InterruptedException;
+
+        /**
+         * Interrupt the threads.
+         */
+        abstract void shutdownNow();
+    }
+
+    /**
+     * The Class Candidate is a candidate submitted to a pipeline.
+     */
+    private static final class Candidate {
+
+        /** The candidate cryptarithm. */
+        private final ICryptaNode cryptarithm;
+
+        /** The callback run once the candidate is verified. */
+        private final Runnable done;
+
+        Candidate(final ICryptaNode cryptarithm, final Runnable done) {
+            super();
+            this.cryptarithm = cryptarithm;
+            this.done = done;
+        }
+    }
+
+    /**
+     * The Class PartitionProgress records a partition in the checkpoint once its
+     * candidates are verified.
+     *
+     * It counts the candidates of the partition that are not verified yet, plus
+     * one until the partition is enumerated.
+     */
+    private final class PartitionProgress implements Runnable {
+
+        /** The partition. */
+        private final int partition;
+
+        /** The number of pending tasks. */
+        private final AtomicLong pending = new AtomicLong(1);
+
+        PartitionProgress(final int partition) {
+            super();
+            this.partition = partition;
+        }
+
+        void submit() {
+            pending.incrementAndGet();
+        }
+
+        @Override
+        public void run() {
+            if (pending.decrementAndGet() == 0 && isProgressRecorded()) {
+                checkpoint.partitionDone(partition);
+            }
+        }
+    }
+
+    /**
+     * The Class WorkerPipeline solves the candidates on a fixed number of worker
+     * threads.
+     *
+     * The candidates are put into a bounded queue, so the generation waits when
+     * the workers are late. Each worker solves the candidates with its own solver.
+     * The workers stop once the queue is drained.
+     */
+    private final class WorkerPipeline extends CandidatePipeline {
+
+        /** The candidate queue where an empty candidate tells a worker to stop. */
+        private final BlockingQueue<Optional<Candidate>> queue;
+
+        /** The executor of the workers. */
+        private final ExecutorService executor;
+
+        /** The workers. */
+        private final List<Future<?>> workers;
+
+        /**
+         * Instantiates a new pipeline and starts its workers.
+         *
+         * @param consumer the consumer for valid cryptarithms (thread-safe)
+         * @param nthreads the number of worker threads
+         */
+        WorkerPipeline(final BiConsumer<ICryptaNode, ICryptaSolution> consumer, final int nthreads) {
+            super();
+            queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY_PER_WORKER * nthreads);
+            executor = Executors.newFixedThreadPool(nthreads);
+            workers = new ArrayList<>(nthreads);
+            for (int i = 0; i < nthreads; i++) {
+                workers.add(executor.submit(new GenerateWorker(queue, consumer)));
+            }
+            executor.shutdown();
+        }
+
+        @Override
+        void put(final ICryptaNode cryptarithm, final Runnable done) throws InterruptedException {
+            queue.put(Optional.of(new Candidate(cryptarithm, done)));
+        }
+
+        @Override
+        void close() throws InterruptedException {
+            for (int i = 0; i < workers.size(); i++) {
+                queue.put(Optional.empty());
+            }
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    errorCount.incrementAndGet();
+                    logger.log(Level.SEVERE, "Generation worker [FAIL]", e.getCause());
+                }
+            }
+        }
+
+        @Override
+        void shutdownNow() {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The Class TaskPipeline solves each candidate in its own task.
+     *
+     * The tasks run on virtual threads if the runtime supports them, or else on
+     * a cached pool of daemon threads. So, the tasks that wait for a crypt
+     * process do not hold a worker. The number of running tasks is capped, and
+     * the solvers are recycled between the tasks.
+     */
+    private final class TaskPipeline extends CandidatePipeline {
+
+        /** The maximum number of running tasks. */
+        private final int maxConcurrency;
+
+        /** The permits of the running tasks. */
+        private final Semaphore permits;
+
+        /** The executor of the tasks. */
+        private final ExecutorService executor;
+
+        /** The consumer for valid cryptarithms (thread-safe). */
+        private final BiConsumer<ICryptaNode, ICryptaSolution> consumer;
+
+        /** The idle candidate consumers, each with its own solver. */
+        private final Queue<GenerateConsumer> idle = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Instantiates a new task pipeline.
+         *
+         * @param consumer       the consumer for valid cryptarithms (thread-safe)
+         * @param maxConcurrency the maximum number of running tasks
+         */
+        TaskPipeline(final BiConsumer<ICryptaNode, ICryptaSolution> consumer, final int maxConcurrency) {
+            super();
+            this.maxConcurrency = Math.max(1, maxConcurrency);
+            this.permits = new Semaphore(this.maxConcurrency);
+            this.executor = newTaskExecutor();
+            this.consumer = consumer;
+        }
+
+        private void solve(final ICryptaNode cryptarithm, final Runnable done) {
+            GenerateConsumer generate = idle.poll();
+            if (generate == null) {
+                generate = new GenerateConsumer(createCandidateSolver(), consumer);
+            }
+            try {
+                generate.accept(cryptarithm);
+                done.run();
+            } catch (RuntimeException e) {
+                errorCount.incrementAndGet();
+                logger.log(Level.WARNING, "Solve the candidate cryptarithm [FAIL]", e);
+            } finally {
+                idle.add(generate);
+                permits.release();
+            }
+        }
+
+        @Override
+        void put(final ICryptaNode cryptarithm, final Runnable done) throws InterruptedException {
+            permits.acquire();
+            try {
+                executor.execute(() -> solve(cryptarithm, done));
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        void close() throws InterruptedException {
+            permits.acquire(maxConcurrency);
+            permits.release(maxConcurrency);
+            executor.shutdown();
+        }
+
+        @Override
+        void shutdownNow() {
+            executor.shutdownNow();
         }
-        clog.logOnSolver(gen);
-        return gen.getSolver().getSolutionCount();
     }
 
     /**
      * The LogConsumer logs the candidate cryptarithm.
+     *
+     * It reads the generation model, so it is used by the generation thread.
      */
-    // FIXME are consumers thread-safe ? they are used in parallel !
     private class LogConsumer implements Consumer<ICryptaNode> {
 
         /** The solution. */
@@ -230,6 +753,53 @@ public class CryptaListGenerator implements ICryptaGenerator {
         }
     }
 
+    /**
+     * The Class GenerateWorker solves the candidates of a queue until it receives
+     * an empty candidate.
+     */
+    private class GenerateWorker implements Runnable {
+
+        /** The candidate queue. */
+        private final BlockingQueue<Optional<Candidate>> queue;
+
+        /** The consumer for the candidates, with a solver owned by the worker. */
+        private final GenerateConsumer generate;
+
+        /**
+         * Instantiates a new generate worker.
+         *
+         * @param queue    the candidate queue
+         * @param consumer the consumer for valid cryptarithms (thread-safe)
+         */
+        GenerateWorker(final BlockingQueue<Optional<Candidate>> queue,
+                final BiConsumer<ICryptaNode, ICryptaSolution> consumer) {
+            super();
+            this.queue = queue;
+            this.generate = new GenerateConsumer(createCandidateSolver(), consumer);
+        }
+
+        @Override
+        public void run() {
+            try {
+                Optional<Candidate> candidate = queue.take();
+                while (candidate.isPresent()) {
+                    try {
+                        generate.accept(candidate.get().cryptarithm);
+                        candidate.get().done.run();
+                    } catch (RuntimeException e) {
+                        // The worker goes on, so the generation thread is never blocked.
+                        // The candidate is not verified, so it is verified again on resume.
+                        errorCount.incrementAndGet();
+                        logger.log(Level.WARNING, "Solve the candidate cryptarithm [FAIL]", e);
+                    }
+                    candidate = queue.take();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     /**
      * The Class GenerateConsumer solves the candidate cryptarithm.
      */
@@ -267,18 +837,61 @@ public class CryptaListGenerator implements ICryptaGenerator {
             return consumer;
         }
 
+        /**
+         * Store the outcome of a candidate in the pattern cache.
+         *
+         * @param pattern  the pattern of the candidate
+         * @param solution the unique solution if any
+         */
+        private void putOutcome(final CryptaPattern pattern, final Optional<ICryptaSolution> solution) {
+            try {
+                patternCache.put(pattern,
+                        solution.isPresent() ? Optional.of(pattern.toCanonical(solution.get())) : Optional.empty());
+            } catch (CryptaSolutionException e) {
+                // A partial solution is not cached.
+                logger.log(Level.FINE, "Cache the candidate cryptarithm [FAIL]", e);
+            }
+        }
+
         /**
          * Accept the candidate cryptarithm.
          *
+         * The candidates rejected by the filters, or isomorphic to a cached
+         * candidate, are not solved.
+         *
          * @param t the candidate
          */
         @Override
         public void accept(final ICryptaNode t) {
+            if (!filters.test(t)) {
+                return;
+            }
+            final CryptaPattern pattern = patternCache == null ? null : new CryptaPattern(t);
+            if (pattern != null) {
+                final Optional<int[]> outcome = patternCache.get(pattern);
+                if (outcome != null) {
+                    if (outcome.isPresent()) {
+                        // The renamed solution is checked like a solution of the solver.
+                        final ICryptaSolution solution = pattern.fromCanonical(outcome.get());
+                        final CryptaBiConsumer collect = buildBiConsumer();
+                        collect.accept(t, solution);
+                        if (collect.getErrorCount() == 0) {
+                            internal.accept(t, solution);
+                        } else {
+                            logger.log(Level.WARNING, "Check the cached candidate cryptarithm [ERROR]");
+                        }
+                    }
+                    return;
+                }
+            }
             try {
                 final CryptaBiConsumer collect = buildBiConsumer();
                 solver.solve(t, config, collect);
                 if (collect.getErrorCount() == 0) {
                     final Optional<ICryptaSolution> solution = collect.getUniqueSolution();
+                    if (pattern != null) {
+                        putOutcome(pattern, solution);
+                    }
                     if (solution.isPresent()) {
                         internal.accept(t, solution.get());
                     }
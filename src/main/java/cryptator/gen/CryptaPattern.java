@@ -0,0 +1,123 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.gen;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import cryptator.solver.CryptaSolutionArray;
+import cryptator.solver.CryptaSolutionException;
+import cryptator.solver.CryptaSymbolTable;
+import cryptator.specs.ICryptaNode;
+import cryptator.specs.ICryptaSolution;
+import cryptator.specs.ITraversalNodeConsumer;
+import cryptator.tree.TreeTraversals;
+
+/**
+ * The Class CryptaPattern is the letter pattern of a cryptarithm.
+ *
+ * The symbols are renamed in their order of first occurrence in a postorder
+ * traversal. So, two cryptarithms have the same key if and only if they are
+ * equal up to a renaming of the symbols, and they have the same solutions up to
+ * the same renaming.
+ */
+public final class CryptaPattern {
+
+    /** The first character of the renamed symbols. */
+    private static final char FIRST_SYMBOL = '\uE000';
+
+    /** The canonical key. */
+    private final String key;
+
+    /** The symbols in their order of first occurrence. */
+    private final char[] symbols;
+
+    /**
+     * Computes the pattern of a cryptarithm.
+     *
+     * @param cryptarithm the cryptarithm
+     */
+    public CryptaPattern(final ICryptaNode cryptarithm) {
+        super();
+        final PatternBuilder builder = new PatternBuilder();
+        TreeTraversals.postorderTraversal(cryptarithm, builder);
+        this.key = builder.key.toString();
+        this.symbols = new char[builder.renaming.size()];
+        builder.renaming.forEach((symbol, renamed) -> symbols[renamed - FIRST_SYMBOL] = symbol);
+    }
+
+    /**
+     * Gets the canonical key.
+     *
+     * @return the key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the digits of a solution in the canonical order of the symbols.
+     *
+     * @param solution the solution of the cryptarithm
+     * @return the canonical digits
+     * @throws CryptaSolutionException if a symbol has no digit
+     */
+    public int[] toCanonical(final ICryptaSolution solution) throws CryptaSolutionException {
+        final int[] digits = new int[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            digits[i] = solution.getDigit(symbols[i]);
+        }
+        return digits;
+    }
+
+    /**
+     * Builds the solution of the cryptarithm from canonical digits.
+     *
+     * @param digits the canonical digits of an isomorphic cryptarithm
+     * @return the solution of the cryptarithm
+     */
+    public ICryptaSolution fromCanonical(final int[] digits) {
+        final CryptaSymbolTable table = new CryptaSymbolTable(symbols);
+        final int[] solution = new int[symbols.length];
+        for (int i = 0; i < symbols.length; i++) {
+            solution[table.indexOf(symbols[i])] = digits[i];
+        }
+        return new CryptaSolutionArray(table, solution);
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+
+    /**
+     * The Class PatternBuilder writes the key in postorder.
+     */
+    private static final class PatternBuilder implements ITraversalNodeConsumer {
+
+        private final StringBuilder key = new StringBuilder();
+
+        private final Map<Character, Character> renaming = new HashMap<>();
+
+        @Override
+        public void accept(final ICryptaNode node, final int numNode) {
+            if (node.isInternalNode()) {
+                key.append(node.getOperator().getToken());
+            } else if (node.isConstant()) {
+                key.append('\'').append(node.getWord()).append('\'');
+            } else {
+                key.append('[');
+                for (char c : node.getWord()) {
+                    key.append(renaming.computeIfAbsent(c, s -> (char) (FIRST_SYMBOL + renaming.size())));
+                }
+                key.append(']');
+            }
+        }
+    }
+}
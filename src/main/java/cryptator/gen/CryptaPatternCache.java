@@ -0,0 +1,95 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.gen;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The Class CryptaPatternCache is a bounded LRU cache of solve outcomes keyed by
+ * the letter pattern of the candidates.
+ *
+ * The outcome of a pattern is its unique solution as canonical digits, or empty
+ * if the pattern has no solution or several solutions. The cache is
+ * thread-safe.
+ */
+public final class CryptaPatternCache {
+
+    /** The outcomes in access order. */
+    private final Map<String, Optional<int[]>> outcomes;
+
+    /** The hit count. */
+    private long hitCount;
+
+    /** The miss count. */
+    private long missCount;
+
+    /**
+     * Instantiates a new cache.
+     *
+     * @param capacity the maximum number of outcomes
+     */
+    public CryptaPatternCache(final int capacity) {
+        super();
+        this.outcomes = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Optional<int[]>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the outcome of a pattern.
+     *
+     * @param pattern the pattern
+     * @return the outcome, or null if the pattern is not in the cache
+     */
+    public synchronized Optional<int[]> get(final CryptaPattern pattern) {
+        final Optional<int[]> outcome = outcomes.get(pattern.getKey());
+        if (outcome == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return outcome;
+    }
+
+    /**
+     * Put the outcome of a pattern.
+     *
+     * @param pattern the pattern
+     * @param outcome the canonical digits of the unique solution, or empty
+     */
+    public synchronized void put(final CryptaPattern pattern, final Optional<int[]> outcome) {
+        outcomes.put(pattern.getKey(), outcome);
+    }
+
+    public synchronized int size() {
+        return outcomes.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "hits " + hitCount + " misses " + missCount + " size " + outcomes.size();
+    }
+
+}
@@ -0,0 +1,194 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.gen;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import cryptator.config.CryptagenConfig;
+import cryptator.config.CryptagenConfig.GenerateType;
+import cryptator.config.CryptagenConfig.RightMemberType;
+
+/**
+ * The Class CryptaWordIndex indexes a word list by length and by number of
+ * distinct symbols, so that the words that are never part of a valid
+ * cryptarithm are removed before building the generation model.
+ *
+ * A word is removed if it has more distinct symbols than the base. If the
+ * leading zeros are forbidden, a word is also removed if its length cannot be
+ * balanced by the other words:
+ * <ul>
+ * <li>in an addition, the other member cannot reach the smallest value of a
+ * member that contains the word;</li>
+ * <li>in a multiplication, the length of the word exceeds the sum of the
+ * lengths of the other words.</li>
+ * </ul>
+ * If the right member is fixed, the last word is always kept, and the other
+ * words cannot be longer than the last word. The removals are repeated until no
+ * word is removed.
+ */
+public final class CryptaWordIndex {
+
+    /** The words. */
+    private final String[] words;
+
+    /** The indices of the words by length. */
+    private final NavigableMap<Integer, List<Integer>> wordsByLength = new TreeMap<>();
+
+    /** The indices of the words by number of distinct symbols. */
+    private final NavigableMap<Integer, List<Integer>> wordsBySymbolCount = new TreeMap<>();
+
+    /**
+     * Builds the index of a word list.
+     *
+     * @param words the words
+     */
+    public CryptaWordIndex(final String[] words) {
+        super();
+        this.words = words;
+        final BitSet symbols = new BitSet();
+        for (int i = 0; i < words.length; i++) {
+            symbols.clear();
+            for (int j = 0; j < words[i].length(); j++) {
+                symbols.set(words[i].charAt(j));
+            }
+            wordsByLength.computeIfAbsent(words[i].length(), k -> new ArrayList<>()).add(i);
+            wordsBySymbolCount.computeIfAbsent(symbols.cardinality(), k -> new ArrayList<>()).add(i);
+        }
+    }
+
+    /**
+     * Gets the indices of the words by length.
+     *
+     * @return the words by length
+     */
+    public NavigableMap<Integer, List<Integer>> getWordsByLength() {
+        return Collections.unmodifiableNavigableMap(wordsByLength);
+    }
+
+    /**
+     * Gets the indices of the words by number of distinct symbols.
+     *
+     * @return the words by symbol count
+     */
+    public NavigableMap<Integer, List<Integer>> getWordsBySymbolCount() {
+        return Collections.unmodifiableNavigableMap(wordsBySymbolCount);
+    }
+
+    /**
+     * Computes the words that can be part of a valid cryptarithm with respect to
+     * the configuration.
+     *
+     * @param config the configuration
+     * @return the indices of the kept words
+     */
+    public BitSet computeCandidateWords(final CryptagenConfig config) {
+        final int n = words.length;
+        final BitSet kept = new BitSet(n);
+        kept.set(0, n);
+        final int base = config.getArithmeticBase();
+        for (List<Integer> indices : wordsBySymbolCount.tailMap(base, false).values()) {
+            indices.forEach(kept::clear);
+        }
+        final boolean isFixed = config.getRightMemberType() == RightMemberType.FIXED && n > 0;
+        if (isFixed) {
+            kept.set(n - 1);
+        }
+        if (config.getAllowLeadingZeros() || !config.getAssignments().isEmpty()) {
+            return kept;
+        }
+        final GenerateType type = config.getGenerateType();
+        if (isFixed && (type == GenerateType.ADD || type == GenerateType.MUL)) {
+            // The words of the left member are not longer than the right member.
+            for (List<Integer> indices : wordsByLength.tailMap(words[n - 1].length(), false).values()) {
+                indices.stream().filter(i -> i < n - 1).forEach(kept::clear);
+            }
+        } else if (type == GenerateType.ADD || type == GenerateType.MUL) {
+            final int maxWords = config.getMaxWords() > 0 ? config.getMaxWords() : n;
+            boolean removed = true;
+            while (removed) {
+                removed = type == GenerateType.ADD ? removeAdditionWords(kept, base, maxWords - 1)
+                        : removeMultiplicationWords(kept, maxWords - 1);
+            }
+        }
+        return kept;
+    }
+
+    private boolean removeAdditionWords(final BitSet kept, final int base, final int maxOthers) {
+        // The two largest lengths of the kept words.
+        int first = -1;
+        int second = -1;
+        for (Map.Entry<Integer, List<Integer>> e : wordsByLength.descendingMap().entrySet()) {
+            for (int i : e.getValue()) {
+                if (kept.get(i)) {
+                    if (first < 0) {
+                        first = e.getKey();
+                    } else if (second < 0) {
+                        second = e.getKey();
+                    }
+                }
+            }
+            if (second >= 0) {
+                break;
+            }
+        }
+        boolean removed = false;
+        for (int i = kept.nextSetBit(0); i >= 0; i = kept.nextSetBit(i + 1)) {
+            final int a = words[i].length();
+            final int other = a == first ? second : first;
+            if (other < 0 || !CryptaCandidateFilters.isBalanced(a, other, maxOthers, base)) {
+                kept.clear(i);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    private boolean removeMultiplicationWords(final BitSet kept, final int maxOthers) {
+        // The sum of the largest lengths of the kept words, and the smallest of them.
+        int sum = 0;
+        int count = 0;
+        int last = 0;
+        for (Map.Entry<Integer, List<Integer>> e : wordsByLength.descendingMap().entrySet()) {
+            for (int i : e.getValue()) {
+                if (kept.get(i) && count <= maxOthers) {
+                    sum += e.getKey();
+                    last = e.getKey();
+                    count++;
+                }
+            }
+        }
+        boolean removed = false;
+        for (int i = kept.nextSetBit(0); i >= 0; i = kept.nextSetBit(i + 1)) {
+            final int a = words[i].length();
+            // The largest lengths of the other words.
+            final int others = count <= maxOthers ? sum - a : a >= last ? sum - a : sum - last;
+            if (a > others) {
+                kept.clear(i);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Gets the kept words.
+     *
+     * @param kept the indices of the kept words
+     * @return the array of kept words
+     */
+    public String[] getWords(final BitSet kept) {
+        return kept.stream().mapToObj(i -> words[i]).toArray(String[]::new);
+    }
+}
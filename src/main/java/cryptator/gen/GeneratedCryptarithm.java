@@ -0,0 +1,51 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.gen;
+
+import cryptator.specs.ICryptaNode;
+import cryptator.specs.ICryptaSolution;
+import cryptator.tree.TreeUtils;
+
+/**
+ * The Class GeneratedCryptarithm is a cryptarithm generated along with its
+ * solution.
+ */
+public final class GeneratedCryptarithm {
+
+    /** The cryptarithm. */
+    private final ICryptaNode cryptarithm;
+
+    /** The solution. */
+    private final ICryptaSolution solution;
+
+    /**
+     * Instantiates a new generated cryptarithm.
+     *
+     * @param cryptarithm the cryptarithm
+     * @param solution    its solution
+     */
+    public GeneratedCryptarithm(final ICryptaNode cryptarithm, final ICryptaSolution solution) {
+        super();
+        this.cryptarithm = cryptarithm;
+        this.solution = solution;
+    }
+
+    public ICryptaNode getCryptarithm() {
+        return cryptarithm;
+    }
+
+    public ICryptaSolution getSolution() {
+        return solution;
+    }
+
+    @Override
+    public String toString() {
+        return TreeUtils.writeInorder(cryptarithm) + " " + solution;
+    }
+}
@@ -8,7 +8,11 @@
  */
 package cryptator.gen;
 
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
 
 import com.ibm.icu.lang.UCharacter;
 import com.ibm.icu.text.Normalizer2;
@@ -16,9 +20,22 @@ import com.ibm.icu.text.RuleBasedNumberFormat;
 
 /**
  * TransformWord gives access to the icu and java.string libraries.
+ *
+ * The spell-out formatters are cached by locale for each thread, because they
+ * are expensive to build and not thread-safe.
  */
 public final class TransformWord {
 
+    /** The spell-out formatters of the current thread by locale. */
+    private static final ThreadLocal<Map<Locale, RuleBasedNumberFormat>> FORMATTERS = ThreadLocal
+            .withInitial(HashMap::new);
+
+    /** The first code point of the block of combining diacritical marks. */
+    private static final int MIN_DIACRITICAL_MARK = 0x0300;
+
+    /** The last code point of the block of combining diacritical marks. */
+    private static final int MAX_DIACRITICAL_MARK = 0x036F;
+
     /**
      * Instantiates a new transform word is private.
      */
@@ -35,9 +52,12 @@ public final class TransformWord {
      * @return the integer converted to words
      */
     public static String translate(final String ctryCd, final String lang, final int value) {
-        final Locale locale = new Locale(lang, ctryCd);
-        final RuleBasedNumberFormat rule = new RuleBasedNumberFormat(locale, RuleBasedNumberFormat.SPELLOUT);
-        return rule.format(value);
+        return getFormatter(ctryCd, lang).format(value);
+    }
+
+    private static RuleBasedNumberFormat getFormatter(final String ctryCd, final String lang) {
+        return FORMATTERS.get().computeIfAbsent(new Locale(lang, ctryCd),
+                locale -> new RuleBasedNumberFormat(locale, RuleBasedNumberFormat.SPELLOUT));
     }
 
     /**
@@ -50,8 +70,65 @@ public final class TransformWord {
      * @return the integer converted to normalized words
      */
     public static String translateAndNormalize(final String ctryCd, final String lang, final int value) {
-        final String translated = translate(ctryCd, lang, value);
-        return toLowerCase(removeWhitespaces(removeDashes( removeSpecialChars(stripAccents(translated)))));
+        return normalize(translate(ctryCd, lang, value));
+    }
+
+    /**
+     * Translate and normalize the integers of a range into words (decimal
+     * integers) in any language. The integers are translated in parallel.
+     *
+     * @param ctryCd the country code of the java.util.Locale
+     * @param lang   the language of the java.util.Locale
+     * @param from   the first integer (inclusive)
+     * @param to     the last integer (exclusive)
+     * @return the integers converted to normalized words
+     */
+    public static String[] translateAndNormalize(final String ctryCd, final String lang, final int from,
+            final int to) {
+        final String[] words = new String[Math.max(0, to - from)];
+        IntStream.range(0, words.length).parallel()
+                .forEach(i -> words[i] = translateAndNormalize(ctryCd, lang, from + i));
+        return words;
+    }
+
+    /**
+     * Normalize the input into a word: the accents, special characters, dashes
+     * and whitespaces are removed, and the input is converted to lower case.
+     *
+     * @param input the input
+     * @return the normalized word
+     */
+    public static String normalize(final String input) {
+        // A single pass instead of the successive transformations.
+        final String normalized = Normalizer2.getNFDInstance().normalize(input);
+        return toLowerCase(
+                removeIf(normalized, c -> isDiacriticalMark(c) || isSpecialChar(c) || c == '-' || isWhitespace(c)));
+    }
+
+    private static boolean isDiacriticalMark(final int c) {
+        return c >= MIN_DIACRITICAL_MARK && c <= MAX_DIACRITICAL_MARK;
+    }
+
+    private static boolean isSpecialChar(final int c) {
+        return Character.getType(c) == Character.FORMAT;
+    }
+
+    private static boolean isWhitespace(final int c) {
+        // The whitespaces of the regular expressions.
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Removes the code points of the input that satisfy a filter.
+     *
+     * @param input  the input
+     * @param filter the filter of the removed code points
+     * @return the input without the filtered code points
+     */
+    private static String removeIf(final String input, final IntPredicate filter) {
+        final StringBuilder b = new StringBuilder(input.length());
+        input.codePoints().filter(filter.negate()).forEach(b::appendCodePoint);
+        return b.toString();
     }
 
     /**
@@ -62,7 +139,7 @@ public final class TransformWord {
      */
     public static String stripAccents(final String input) {
         final String normalized = Normalizer2.getNFDInstance().normalize(input);
-        return normalized.replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
+        return removeIf(normalized, TransformWord::isDiacriticalMark);
     }
 
     /**
@@ -72,7 +149,7 @@ public final class TransformWord {
      * @return the string without whitespaces
      */
     public static String removeWhitespaces(final String input) {
-        return input.replaceAll("\\s+", "");
+        return removeIf(input, TransformWord::isWhitespace);
     }
 
     /**
@@ -92,7 +169,7 @@ public final class TransformWord {
      * @return the input without special characters
      */
     public static String removeSpecialChars(final String input) {
-        return input.replaceAll("\\p{Cf}", "");
+        return removeIf(input, TransformWord::isSpecialChar);
     }
 
     /**
@@ -15,7 +15,9 @@ import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 
 import org.chocosolver.solver.constraints.extension.Tuples;
@@ -37,6 +39,10 @@ import org.chocosolver.solver.constraints.extension.Tuples;
  * the sum of words of the right member.
  *
  * The tuples represents the sum of n1 words
+ *
+ * The sweep line uses primitive long values when the sum of all words fits in
+ * a long, and big integers otherwise. The tuples are cached by base and sorted
+ * lengths, so that the models with the same words share them.
  */
 public class WordSumTuplesBuilder {
 
@@ -105,8 +111,11 @@ public class WordSumTuplesBuilder {
         /** The event type. */
         private final int eventType;
 
-        /** The event value. */
-        private final BigInteger eventValue;
+        /** The event value if it fits in a long. */
+        private final long eventValue;
+
+        /** The event value if it does not fit in a long, or else null. */
+        private final BigInteger bigEventValue;
 
         /**
          * Instantiates a new Half Tuple event.
@@ -115,11 +124,27 @@ public class WordSumTuplesBuilder {
          * @param eventType  the event type
          * @param eventValue the event value
          */
-        public HTEvent(final HalfTuple tuple, final int eventType, final BigInteger eventValue) {
+        public HTEvent(final HalfTuple tuple, final int eventType, final long eventValue) {
             super();
             this.halfTuple = tuple;
             this.eventType = eventType;
             this.eventValue = eventValue;
+            this.bigEventValue = null;
+        }
+
+        /**
+         * Instantiates a new Half Tuple event.
+         *
+         * @param tuple      the half tuple
+         * @param eventType  the event type
+         * @param eventValue the event value
+         */
+        public HTEvent(final HalfTuple tuple, final int eventType, final BigInteger eventValue) {
+            super();
+            this.halfTuple = tuple;
+            this.eventType = eventType;
+            this.eventValue = 0;
+            this.bigEventValue = eventValue;
         }
 
         /**
@@ -146,7 +171,7 @@ public class WordSumTuplesBuilder {
          * @return the event value
          */
         public final BigInteger getEventValue() {
-            return eventValue;
+            return bigEventValue == null ? BigInteger.valueOf(eventValue) : bigEventValue;
         }
 
         /**
@@ -160,7 +185,7 @@ public class WordSumTuplesBuilder {
             b.append(eventType == 0 ? "S" : "E");
             b.append(halfTuple.getMaxLength());
             b.append('[').append(halfTuple.getWordCount()).append(']');
-            b.append(':').append(eventValue);
+            b.append(':').append(getEventValue());
             return b.toString();
         }
 
@@ -181,11 +206,18 @@ public class WordSumTuplesBuilder {
          */
         @Override
         public int compare(final HTEvent evt1, final HTEvent evt2) {
-            final int cmp = evt1.eventValue.compareTo(evt2.eventValue);
+            final int cmp = evt1.bigEventValue == null ? Long.compare(evt1.eventValue, evt2.eventValue)
+                    : evt1.bigEventValue.compareTo(evt2.bigEventValue);
             return cmp == 0 ? Integer.compare(evt1.eventType, evt2.eventType) : cmp;
         }
     }
 
+    /** The maximum number of cached tuple tables. */
+    private static final int CACHE_CAPACITY = 64;
+
+    /** The cached tuples by base and sorted lengths. */
+    private static final Map<String, int[][]> CACHE = new ConcurrentHashMap<>();
+
     /** The base of the word sum. */
     private final BigInteger base;
 
@@ -195,6 +227,12 @@ public class WordSumTuplesBuilder {
     /** The indices of the last word of each length. */
     private final int[] indices;
 
+    /** The powers of the base up to the maximum length. */
+    private final BigInteger[] powers;
+
+    /** True if the sum of all words fits in a long. */
+    private final boolean isLong;
+
     /**
      * Instantiates a new builder of Word Sum Tuples.
      *
@@ -212,6 +250,66 @@ public class WordSumTuplesBuilder {
         this.lengths = lengths;
         Arrays.sort(lengths);
         indices = buildIndices(lengths);
+        powers = new BigInteger[indices.length + 1];
+        powers[0] = BigInteger.ONE;
+        for (int i = 1; i < powers.length; i++) {
+            powers[i] = powers[i - 1].multiply(this.base);
+        }
+        // The sum of all words is lower than n * base^maxLength.
+        isLong = powers[indices.length - 1].multiply(BigInteger.valueOf(lengths.length + 1L))
+                .bitLength() < Long.SIZE - 1;
+    }
+
+    /**
+     * Gets the tuples of a base and word lengths from the cache, or builds them.
+     *
+     * The cache is thread-safe, and each call returns a new tuples object.
+     *
+     * @param base    the base of the word sum
+     * @param lengths the lengths of the words (not modified)
+     * @return the valid tuples
+     */
+    public static Tuples getTuples(final int base, final int[] lengths) {
+        return new Tuples(getTable(base, lengths), true);
+    }
+
+    /**
+     * Gets the tuples of the sums of a given number of words equal to a single
+     * word.
+     *
+     * A tuple (l1, l2) gives the maximum word length of the left member and the
+     * length of the right word.
+     *
+     * @param base      the base of the word sum
+     * @param lengths   the lengths of the words (not modified)
+     * @param wordCount the number of words of the left member
+     * @return the valid tuples
+     */
+    public static Tuples getTuples(final int base, final int[] lengths, final int wordCount) {
+        final int[][] table = Arrays.stream(getTable(base, lengths)).filter(t -> t[1] == wordCount && t[3] == 1)
+                .map(t -> new int[] {t[0], t[2]}).toArray(int[][]::new);
+        return new Tuples(table, true);
+    }
+
+    /**
+     * Gets the table of the valid tuples from the cache, or builds it.
+     *
+     * @param base    the base of the word sum
+     * @param lengths the lengths of the words (not modified)
+     * @return the shared table of the valid tuples
+     */
+    private static int[][] getTable(final int base, final int[] lengths) {
+        final int[] sorted = lengths.clone();
+        Arrays.sort(sorted);
+        final String key = base + ":" + Arrays.toString(sorted);
+        int[][] table = CACHE.get(key);
+        if (table == null) {
+            if (CACHE.size() >= CACHE_CAPACITY) {
+                CACHE.clear();
+            }
+            table = CACHE.computeIfAbsent(key, k -> new WordSumTuplesBuilder(base, sorted).buildTable());
+        }
+        return table;
     }
 
     /**
@@ -242,7 +340,7 @@ public class WordSumTuplesBuilder {
      * @return the lower bound on its value
      */
     private BigInteger getLB(final int i) {
-        return base.pow(i - 1);
+        return powers[i - 1];
     }
 
     /**
@@ -252,7 +350,7 @@ public class WordSumTuplesBuilder {
      * @return the upper bound on its value
      */
     private BigInteger getUB(final int i) {
-        return base.pow(i).subtract(BigInteger.ONE);
+        return powers[i].subtract(BigInteger.ONE);
     }
 
     /**
@@ -271,13 +369,60 @@ public class WordSumTuplesBuilder {
         events.add(new HTEvent(t, 1, ub));
     }
 
+    /**
+     * Adds the events of a half tuple to the sweep line.
+     *
+     * @param events    the events of the sweep line
+     * @param maxLength the maximum word length of the half tuple
+     * @param wordCount the word count of the half tuple
+     * @param lb        the lower bound for a word sum (value of the start event)
+     * @param ub        the upper bound for a word sum (value of the end event)
+     */
+    private static void addEvents(final Collection<HTEvent> events, final int maxLength, final int wordCount,
+            final long lb, final long ub) {
+        final HalfTuple t = new HalfTuple(maxLength, wordCount);
+        events.add(new HTEvent(t, 0, lb));
+        events.add(new HTEvent(t, 1, ub));
+    }
+
+    /**
+     * Builds the events from the indices with long values.
+     *
+     * @return the events of the sweep line
+     */
+    private List<HTEvent> buildLongEvents() {
+        final long[] lbs = new long[powers.length];
+        final long[] ubs = new long[powers.length];
+        for (int i = 1; i < powers.length; i++) {
+            lbs[i] = powers[i - 1].longValue();
+            ubs[i] = powers[i].longValue() - 1;
+        }
+        List<HTEvent> events = new ArrayList<>(2 * lengths.length);
+        for (int i = 1; i < indices.length; i++) {
+            if (indices[i] > indices[i - 1]) {
+                long lb = lbs[i];
+                long ub = ubs[i];
+                addEvents(events, i, 1, lb, ub);
+                for (int j = 2; j <= indices[i] + 1; j++) {
+                    lb += lbs[lengths[j - 2]];
+                    ub += ubs[lengths[indices[i] + 1 - j]];
+                    addEvents(events, i, j, lb, ub);
+                }
+            }
+        }
+        return events;
+    }
+
     /**
      * Builds the events from the indices.
      *
      * @return the events of the sweep line
      */
     private List<HTEvent> buildEvents() {
-        List<HTEvent> events = new ArrayList<>(2 * indices.length);
+        if (isLong) {
+            return buildLongEvents();
+        }
+        List<HTEvent> events = new ArrayList<>(2 * lengths.length);
         for (int i = 1; i < indices.length; i++) {
             if (indices[i] > indices[i - 1]) {
                 BigInteger lb = getLB(i);
@@ -322,8 +467,8 @@ public class WordSumTuplesBuilder {
      * @param ht1    the left half tuple
      * @param ht2    the right half tuple
      */
-    private static void addTuple(final Tuples tuples, final HalfTuple ht1, final HalfTuple ht2) {
-        tuples.add(ht1.getMaxLength(), ht1.getWordCount(), ht2.getMaxLength(), ht2.getWordCount());
+    private static void addTuple(final List<int[]> tuples, final HalfTuple ht1, final HalfTuple ht2) {
+        tuples.add(new int[] {ht1.getMaxLength(), ht1.getWordCount(), ht2.getMaxLength(), ht2.getWordCount()});
     }
 
     /**
@@ -333,7 +478,7 @@ public class WordSumTuplesBuilder {
      * @param t      the ending tuple
      * @param ts     the active tuples
      */
-    private void addTuples(final Tuples tuples, final HalfTuple t, final Set<HalfTuple> ts) {
+    private void addTuples(final List<int[]> tuples, final HalfTuple t, final Set<HalfTuple> ts) {
         if (isValid(t, t)) {
             addTuple(tuples, t, t);
         }
@@ -351,10 +496,10 @@ public class WordSumTuplesBuilder {
      * @param events the events of the sweep line
      * @return the valid tuples
      */
-    private Tuples processEvents(final List<HTEvent> events) {
+    private List<int[]> processEvents(final List<HTEvent> events) {
         events.sort(new EventComparator());
         final Set<HalfTuple> actives = new HashSet<>();
-        final Tuples tuples = new Tuples();
+        final List<int[]> tuples = new ArrayList<>();
         for (HTEvent evt : events) {
             final HalfTuple t = evt.getHalfTuple();
             if (evt.getEventType() == 0) {
@@ -373,8 +518,17 @@ public class WordSumTuplesBuilder {
      * @return the valid tuples
      */
     public final Tuples buildTuples() {
+        return new Tuples(buildTable(), true);
+    }
+
+    /**
+     * Builds the table of the valid tuples.
+     *
+     * @return the valid tuples
+     */
+    private int[][] buildTable() {
         final List<HTEvent> events = buildEvents();
-        return processEvents(events);
+        return processEvents(events).toArray(new int[0][]);
     }
 
     /**
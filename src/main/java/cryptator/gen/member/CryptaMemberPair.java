@@ -32,12 +32,6 @@ public class CryptaMemberPair implements ICryptaGenSolver {
                 : new CryptaMemberLen(model, words, prefix + "R_");
     }
 
-    public CryptaMemberPair(final IntVar index, final String[] words, final String prefix) {
-        super();
-        left = new CryptaMemberLen(index.getModel(), words, prefix + "L_");
-        right = new CryptaMemberElt(index, words, prefix + "R_");
-    }
-
     @Override
     public final Model getModel() {
         return left.getModel();
@@ -79,10 +73,9 @@ public class CryptaMemberPair implements ICryptaGenSolver {
 
     public final void postHeavyConstraints(final int base) {
         int[] lengths = AbstractCryptaGenModel.getLengths(left.getWords());
-        WordSumTuplesBuilder builder = new WordSumTuplesBuilder(base, lengths);
         IntVar[] vars = ArrayUtils.toArray(left.getMaxLength(), left.getWordCount(), right.getMaxLength(),
                 right.getWordCount());
-        getModel().table(vars, builder.buildTuples()).post();
+        getModel().table(vars, WordSumTuplesBuilder.getTuples(base, lengths)).post();
     }
 
     public void postFixedRightMemberConstraints() {
@@ -0,0 +1,69 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.json;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Class GenerateCheckpoint is the saved progress of a generation.
+ */
+public final class GenerateCheckpoint {
+
+    /** The fingerprint of the words and of the configuration of the candidates. */
+    private String fingerprint;
+
+    /** The number of candidates verified in the order of the generation. */
+    private long candidateCount;
+
+    /** The verified partitions of the candidates. */
+    private List<Integer> partitions = new ArrayList<>();
+
+    /** The verified cryptarithms and their solutions. */
+    private Map<String, String> results = new LinkedHashMap<>();
+
+    public GenerateCheckpoint() {
+        super();
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(final String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public long getCandidateCount() {
+        return candidateCount;
+    }
+
+    public void setCandidateCount(final long candidateCount) {
+        this.candidateCount = candidateCount;
+    }
+
+    public List<Integer> getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(final List<Integer> partitions) {
+        this.partitions = partitions;
+    }
+
+    public Map<String, String> getResults() {
+        return results;
+    }
+
+    public void setResults(final Map<String, String> results) {
+        this.results = results;
+    }
+
+}
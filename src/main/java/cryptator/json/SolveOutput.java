@@ -8,16 +8,15 @@
  */
 package cryptator.json;
 
-import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiConsumer;
 
 import cryptator.solver.CryptaSolutionException;
-import cryptator.specs.ICryptaEvaluation;
 import cryptator.specs.ICryptaNode;
 import cryptator.specs.ICryptaSolution;
-import cryptator.tree.CryptaEvaluation;
+import cryptator.tree.CompiledCryptarithm;
 import cryptator.tree.CryptaEvaluationException;
 
 public final class SolveOutput implements BiConsumer<ICryptaNode, ICryptaSolution> {
@@ -32,6 +31,15 @@ public final class SolveOutput implements BiConsumer<ICryptaNode, ICryptaSolutio
 
     private int invalidSolution;
 
+    /** The compiled cryptarithm reused by the solutions of the same node. */
+    private CompiledCryptarithm compiled;
+
+    /** The node of the compiled cryptarithm. */
+    private ICryptaNode compiledNode;
+
+    /** The symbols of the compiled cryptarithm. */
+    private char[] compiledSymbols;
+
     public SolveOutput() {
         super();
     }
@@ -86,12 +94,24 @@ public final class SolveOutput implements BiConsumer<ICryptaNode, ICryptaSolutio
         this.invalidSolution = invalidSolution;
     }
 
+    private CompiledCryptarithm compile(final ICryptaNode n) {
+        if (compiled == null || compiledNode != n) {
+            compiled = new CompiledCryptarithm(n, base);
+            compiledNode = n;
+            compiledSymbols = compiled.getSymbols();
+        }
+        return compiled;
+    }
+
     @Override
     public void accept(final ICryptaNode n, final ICryptaSolution s) {
-        final ICryptaEvaluation eval = new CryptaEvaluation();
+        final CompiledCryptarithm program = compile(n);
         try {
-            if (eval.evaluate(n, s, base).compareTo(BigInteger.ZERO) == 0) {
+            final int[] digits = program.getDigits(s);
+            if (!program.isSatisfied(digits)) {
                 invalidSolution++;
+            } else if (Arrays.equals(symbols, compiledSymbols)) {
+                solutions.add(digits);
             } else {
                 int[] solution = new int[symbols.length];
                 for (int i = 0; i < solution.length; i++) {
@@ -124,6 +124,17 @@ public abstract class AbstractModelerNodeConsumer implements ITraversalNodeConsu
         postAssignConstraints();
     }
 
+    /**
+     * Post the constraints that only depend on the shape of the cryptarithm, i.e.
+     * without the cardinality and assignment constraints.
+     *
+     * @throws CryptaModelException if the equation constraint cannot be posted
+     */
+    public void postSkeletonConstraints() throws CryptaModelException {
+        postFirstSymbolConstraints();
+        postCryptarithmEquationConstraint();
+    }
+
     public void configureSearch() {
         final int searchType = config.getSearchStrategy();
         if (searchType == 1) {
@@ -8,7 +8,9 @@
  */
 package cryptator.solver;
 
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.chocosolver.solver.variables.IntVar;
@@ -25,11 +27,13 @@ import cryptator.tree.TreeTraversals;
 public class AdaptiveSolver implements ICryptaSolver {
 
     private final CryptaSolver solver;
+    private final CryptaAdditionSolver addition;
     private final Optional<CryptSolver> crypt;
 
     public AdaptiveSolver(final boolean useCrypt) {
         super();
         solver = new CryptaSolver();
+        addition = new CryptaAdditionSolver();
         crypt = useCrypt ? Optional.of(new CryptSolver()) : Optional.empty();
     }
 
@@ -46,12 +50,14 @@ public class AdaptiveSolver implements ICryptaSolver {
     @Override
     public void limitTime(final long limit) {
         solver.limitTime(limit);
+        addition.limitTime(limit);
         crypt.ifPresent(x -> x.limitTime(limit));
     }
 
     @Override
     public void limitSolution(final long limit) {
         solver.limitSolution(limit);
+        addition.limitSolution(limit);
         crypt.ifPresent(x -> x.limitSolution(limit));
     }
 
@@ -61,33 +67,49 @@ public class AdaptiveSolver implements ICryptaSolver {
         final AdaptiveConsumer cons = new AdaptiveConsumer();
         TreeTraversals.preorderTraversal(cryptarithm, cons);
         final int threshold = computeThreshold(config.getArithmeticBase());
-        if (cons.getMaxWordLength() > threshold) {
+        if (cons.isCryptAddition()) {
+            if (crypt.isPresent() && cons.getMaxWordLength() <= threshold) {
+                return crypt.get().solve(cryptarithm, config, solutionConsumer);
+            }
+            return addition.solve(cryptarithm, config, solutionConsumer);
+        }
+        if (cons.isColumnAddition()) {
+            solver.setColumn();
+        } else if (cons.getMaxWordLength() > threshold) {
             solver.setBignum();
         } else {
             solver.unsetBignum();
-            if (crypt.isPresent() && cons.isCryptAddition()) {
-                return crypt.get().solve(cryptarithm, config, solutionConsumer);
-            }
         }
         return solver.solve(cryptarithm, config, solutionConsumer);
     }
 
     private static class AdaptiveConsumer implements ITraversalNodeConsumer {
 
+        private static final Set<CryptaOperator> COLUMN_OPERATORS = EnumSet.of(CryptaOperator.ADD,
+                CryptaOperator.SUB, CryptaOperator.EQ, CryptaOperator.AND);
+
         private int maxWordLength = 0;
 
         private boolean cryptAddition = true;
 
+        private boolean columnAddition = true;
+
         @Override
         public void accept(final ICryptaNode node, final int numNode) {
+            if (numNode == 1) {
+                // The root must be an equation.
+                cryptAddition = node.getOperator() == CryptaOperator.EQ;
+            }
             if (node.isWord()) {
                 maxWordLength = Math.max(maxWordLength, node.getWord().length);
             } else if (node.isInternalNode()) {
                 if (node.getOperator() == CryptaOperator.EQ) {
-                    cryptAddition &= (!node.getLeftChild().isInternalNode() || !node.getRightChild().isInternalNode());
+                    cryptAddition &= numNode == 1
+                            && (!node.getLeftChild().isInternalNode() || !node.getRightChild().isInternalNode());
                 } else if (node.getOperator() != CryptaOperator.ADD) {
                     cryptAddition = false;
                 }
+                columnAddition &= COLUMN_OPERATORS.contains(node.getOperator());
             }
         }
 
@@ -99,6 +121,10 @@ public class AdaptiveSolver implements ICryptaSolver {
             return cryptAddition;
         }
 
+        public final boolean isColumnAddition() {
+            return columnAddition;
+        }
+
     }
 
 }
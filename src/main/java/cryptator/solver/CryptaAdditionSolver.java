@@ -0,0 +1,442 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.solver;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+import cryptator.CryptaOperator;
+import cryptator.config.CryptaConfig;
+import cryptator.specs.ICryptaNode;
+import cryptator.specs.ICryptaSolution;
+
+/**
+ * The Class CryptaAdditionSolver solves additive cryptarithms in pure java.
+ *
+ * The cryptarithm must be an equality between two sums of words and constants.
+ * The search assigns the symbols column by column, from the least significant
+ * column to the most significant one, and checks each column as soon as its
+ * symbols are assigned by propagating the carry. The search works over
+ * primitive arrays and does not allocate memory at each node.
+ */
+public class CryptaAdditionSolver extends AbstractCryptaSolver {
+
+    /** The mask used for checking the time limit every 1024 nodes. */
+    private static final int TIME_CHECK_MASK = 0x3FF;
+
+    @Override
+    public boolean solve(final ICryptaNode cryptarithm, final CryptaConfig config,
+            final Consumer<ICryptaSolution> consumer) throws CryptaModelException {
+        final AdditionSearch search = new AdditionSearch(cryptarithm, config);
+        logOnCryptarithm(cryptarithm);
+        logOnConfiguration(config);
+        final long deadline = timeLimit > 0 ? System.currentTimeMillis() + (timeLimit * MS) : 0;
+        search.solve(consumer, solutionLimit, deadline);
+        search.logOnSolver();
+        return search.getSolutionCount() > 0;
+    }
+
+    /**
+     * The Class AdditionSearch stores the columns of the addition and explores
+     * the assignments of the symbols.
+     */
+    private static final class AdditionSearch {
+
+        /** The arithmetic base. */
+        private final int base;
+
+        /** The symbols in the order of the search. */
+        private final char[] symbols;
+
+        /** The symbol table of the recorded solutions. */
+        private final CryptaSymbolTable table;
+
+        /** The position of each symbol in the symbol table. */
+        private final int[] tablePositions;
+
+        /** The minimum digit of each symbol (1 for leading symbols). */
+        private final int[] minDigits;
+
+        /** The digit assigned to each symbol by the configuration, or -1. */
+        private final int[] fixedDigits;
+
+        /** The minimum occurrence of a digit. */
+        private final int minOcc;
+
+        /** The maximum occurrence of a digit. */
+        private final int maxOcc;
+
+        /** The start of the terms of each column (the last one is a sentinel). */
+        private final int[] colStart;
+
+        /** The symbol index of each term. */
+        private final int[] colSymbols;
+
+        /** The coefficient of each term. */
+        private final int[] colCoeffs;
+
+        /** The constant part of each column. */
+        private final int[] colConstants;
+
+        /** The first column checked once k symbols are assigned. */
+        private final int[] checkFrom;
+
+        /** The last column (exclusive) checked once k symbols are assigned. */
+        private final int[] checkTo;
+
+        /** The incoming carry of each column. */
+        private final int[] carries;
+
+        /** The current digits of the symbols. */
+        private final int[] digits;
+
+        /** The occurrences of the digits. */
+        private final int[] occurrences;
+
+        /** The missing occurrences required by the minimum occurrence. */
+        private int deficit;
+
+        /** The solution count. */
+        private int solutionCount;
+
+        /** The node count. */
+        private long nodeCount;
+
+        /** The backtrack count. */
+        private long backtrackCount;
+
+        /** The search is complete. */
+        private boolean complete;
+
+        /** The runtime in seconds. */
+        private double runtime;
+
+        /**
+         * Instantiates a new addition search.
+         *
+         * @param cryptarithm the additive cryptarithm
+         * @param config      the configuration
+         * @throws CryptaModelException if the cryptarithm is not an addition or the
+         *                              configuration is invalid.
+         */
+        AdditionSearch(final ICryptaNode cryptarithm, final CryptaConfig config) throws CryptaModelException {
+            base = config.getArithmeticBase();
+            if (!cryptarithm.isInternalNode() || cryptarithm.getOperator() != CryptaOperator.EQ) {
+                throw new CryptaModelException("Modeling error for the cryptarithm equation constraint.");
+            }
+            final List<char[]> words = new ArrayList<>();
+            final List<int[]> constants = new ArrayList<>();
+            final List<Integer> signs = new ArrayList<>();
+            final List<Integer> constantSigns = new ArrayList<>();
+            collectTerms(cryptarithm.getLeftChild(), 1, words, signs, constants, constantSigns);
+            collectTerms(cryptarithm.getRightChild(), -1, words, signs, constants, constantSigns);
+
+            int ncols = 0;
+            for (char[] w : words) {
+                ncols = Math.max(ncols, w.length);
+            }
+            for (int[] c : constants) {
+                ncols = Math.max(ncols, c.length);
+            }
+
+            // Order the symbols column by column and merge their coefficients.
+            final Map<Character, Integer> indices = new HashMap<>();
+            final List<Map<Integer, Integer>> columns = new ArrayList<>(ncols);
+            final int[] triggers = new int[ncols];
+            for (int j = 0; j < ncols; j++) {
+                final Map<Integer, Integer> column = new TreeMap<>();
+                for (int i = 0; i < words.size(); i++) {
+                    final char[] w = words.get(i);
+                    if (j < w.length) {
+                        final int s = indices.computeIfAbsent(w[w.length - 1 - j], c -> indices.size());
+                        column.merge(s, signs.get(i), Integer::sum);
+                    }
+                }
+                column.values().removeIf(v -> v == 0);
+                columns.add(column);
+                triggers[j] = indices.size();
+            }
+            final int n = indices.size();
+            symbols = new char[n];
+            indices.forEach((c, i) -> symbols[i] = c);
+            table = new CryptaSymbolTable(symbols);
+            tablePositions = new int[n];
+            for (int i = 0; i < n; i++) {
+                tablePositions[i] = table.indexOf(symbols[i]);
+            }
+
+            colStart = new int[ncols + 1];
+            colConstants = new int[ncols];
+            final int nterms = columns.stream().mapToInt(Map::size).sum();
+            colSymbols = new int[nterms];
+            colCoeffs = new int[nterms];
+            int t = 0;
+            for (int j = 0; j < ncols; j++) {
+                colStart[j] = t;
+                for (Map.Entry<Integer, Integer> e : columns.get(j).entrySet()) {
+                    colSymbols[t] = e.getKey();
+                    colCoeffs[t] = e.getValue();
+                    t++;
+                }
+                for (int i = 0; i < constants.size(); i++) {
+                    final int[] c = constants.get(i);
+                    if (j < c.length) {
+                        colConstants[j] += constantSigns.get(i) * c[j];
+                    }
+                }
+            }
+            colStart[ncols] = t;
+
+            checkFrom = new int[n + 1];
+            checkTo = new int[n + 1];
+            int j = 0;
+            for (int k = 0; k <= n; k++) {
+                checkFrom[k] = j;
+                while (j < ncols && triggers[j] == k) {
+                    j++;
+                }
+                checkTo[k] = j;
+            }
+
+            minDigits = new int[n];
+            if (!config.getAllowLeadingZeros()) {
+                for (char[] w : words) {
+                    if (w.length > 0) {
+                        minDigits[indices.get(w[0])] = 1;
+                    }
+                }
+            }
+            fixedDigits = new int[n];
+            Arrays.fill(fixedDigits, -1);
+            for (Map.Entry<String, String> assign : config.getAssignments().entrySet()) {
+                fixedDigits[getAssignedSymbol(assign, indices)] = getAssignedDigit(assign);
+            }
+
+            minOcc = config.getMinDigitOccurence(n);
+            maxOcc = n == 0 ? 1 : config.getMaxDigitOccurence(n);
+            carries = new int[ncols + 1];
+            digits = new int[n];
+            occurrences = new int[base];
+        }
+
+        private static int getAssignedSymbol(final Map.Entry<String, String> assign,
+                final Map<Character, Integer> indices) throws CryptaModelException {
+            final String skey = assign.getKey();
+            if (skey.length() == 1) {
+                final Integer index = indices.get(skey.charAt(0));
+                if (index != null) {
+                    return index;
+                }
+            }
+            throw new CryptaModelException("The assignment is invalid: " + assign);
+        }
+
+        private static int getAssignedDigit(final Map.Entry<String, String> assign) throws CryptaModelException {
+            try {
+                return Integer.parseInt(assign.getValue());
+            } catch (NumberFormatException e) {
+                throw new CryptaModelException("The assignment is invalid: " + assign);
+            }
+        }
+
+        private void collectTerms(final ICryptaNode member, final int sign, final List<char[]> words,
+                final List<Integer> signs, final List<int[]> constants, final List<Integer> constantSigns)
+                throws CryptaModelException {
+            final Deque<ICryptaNode> stack = new ArrayDeque<>();
+            stack.push(member);
+            while (!stack.isEmpty()) {
+                final ICryptaNode node = stack.pop();
+                if (node.isInternalNode()) {
+                    if (node.getOperator() != CryptaOperator.ADD) {
+                        throw new CryptaModelException("Unsupported operator for an addition: " + node.getOperator());
+                    }
+                    stack.push(node.getRightChild());
+                    stack.push(node.getLeftChild());
+                } else if (node.isConstant()) {
+                    constants.add(toDigits(node.getWord()));
+                    constantSigns.add(sign);
+                } else {
+                    words.add(node.getWord());
+                    signs.add(sign);
+                }
+            }
+        }
+
+        /**
+         * Converts a decimal constant into its digits in the base (little endian).
+         *
+         * @param word the decimal constant
+         * @return the digits of the constant
+         */
+        private int[] toDigits(final char[] word) {
+            final List<Integer> res = new ArrayList<>();
+            BigInteger v = new BigInteger(new String(word));
+            final BigInteger b = BigInteger.valueOf(base);
+            while (v.signum() > 0) {
+                final BigInteger[] r = v.divideAndRemainder(b);
+                res.add(r[1].intValue());
+                v = r[0];
+            }
+            return res.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        public int getSolutionCount() {
+            return solutionCount;
+        }
+
+        /**
+         * Check the columns whose symbols are all assigned once k symbols are
+         * assigned.
+         *
+         * @param k the number of assigned symbols
+         * @return true, if the columns and carries are consistent
+         */
+        private boolean checkColumns(final int k) {
+            final int last = colStart.length - 1;
+            for (int j = checkFrom[k]; j < checkTo[k]; j++) {
+                int sum = carries[j] + colConstants[j];
+                for (int t = colStart[j]; t < colStart[j + 1]; t++) {
+                    sum += colCoeffs[t] * digits[colSymbols[t]];
+                }
+                if (sum % base != 0) {
+                    return false;
+                }
+                carries[j + 1] = sum / base;
+            }
+            return checkTo[k] < last || carries[last] == 0;
+        }
+
+        /**
+         * Gets the next value of the symbol that satisfies the occurrences.
+         *
+         * @param p    the symbol index
+         * @param from the smallest candidate digit
+         * @return the next digit or -1 if none
+         */
+        private int nextValue(final int p, final int from) {
+            final int remaining = digits.length - p - 1;
+            int lb = Math.max(from, minDigits[p]);
+            int ub = base - 1;
+            if (fixedDigits[p] >= 0) {
+                lb = Math.max(lb, fixedDigits[p]);
+                ub = Math.min(ub, fixedDigits[p]);
+            }
+            for (int d = lb; d <= ub; d++) {
+                if (occurrences[d] < maxOcc && deficit - (occurrences[d] < minOcc ? 1 : 0) <= remaining) {
+                    return d;
+                }
+            }
+            return -1;
+        }
+
+        private void assign(final int p, final int d) {
+            digits[p] = d;
+            if (occurrences[d]++ < minOcc) {
+                deficit--;
+            }
+        }
+
+        private void unassign(final int p) {
+            final int d = digits[p];
+            if (--occurrences[d] < minOcc) {
+                deficit++;
+            }
+            digits[p] = -1;
+        }
+
+        private ICryptaSolution recordSolution() {
+            final int[] solution = new int[digits.length];
+            for (int i = 0; i < digits.length; i++) {
+                solution[tablePositions[i]] = digits[i];
+            }
+            return new CryptaSolutionArray(table, solution);
+        }
+
+        /**
+         * Explore the assignments of the symbols with an iterative depth-first
+         * search.
+         *
+         * @param consumer      the solution consumer
+         * @param solutionLimit the solution limit (ignored if not positive)
+         * @param deadline      the deadline in ms (ignored if not positive)
+         */
+        public void solve(final Consumer<ICryptaSolution> consumer, final long solutionLimit, final long deadline) {
+            final long start = System.nanoTime();
+            final int n = digits.length;
+            Arrays.fill(digits, -1);
+            Arrays.fill(occurrences, 0);
+            deficit = minOcc * base;
+            complete = true;
+            if (checkColumns(0)) {
+                if (n == 0) {
+                    solutionCount++;
+                    consumer.accept(recordSolution());
+                } else {
+                    search(consumer, solutionLimit, deadline);
+                }
+            }
+            runtime = (System.nanoTime() - start) / 1e9;
+        }
+
+        private void search(final Consumer<ICryptaSolution> consumer, final long solutionLimit,
+                final long deadline) {
+            final int n = digits.length;
+            int p = 0;
+            while (p >= 0) {
+                int d = digits[p];
+                if (d >= 0) {
+                    unassign(p);
+                }
+                d = nextValue(p, d + 1);
+                if (d < 0) {
+                    backtrackCount++;
+                    p--;
+                    continue;
+                }
+                nodeCount++;
+                if ((nodeCount & TIME_CHECK_MASK) == 0 && deadline > 0 && System.currentTimeMillis() > deadline) {
+                    complete = false;
+                    return;
+                }
+                assign(p, d);
+                if (checkColumns(p + 1)) {
+                    if (p + 1 < n) {
+                        p++;
+                    } else {
+                        solutionCount++;
+                        consumer.accept(recordSolution());
+                        if (solutionLimit > 0 && solutionCount >= solutionLimit) {
+                            complete = false;
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+
+        public void logOnSolver() {
+            if (LOGGER.isLoggable(Level.INFO)) {
+                final String format = "Solver diagnostics:\ns %s\nd NBSOLS %d\nd TIME %.3f\nd NODES %d\nd BACKTRACKS %d";
+                LOGGER.info(String.format(Locale.US, format, complete ? "TERMINATED" : "STOPPED", solutionCount,
+                        runtime, nodeCount, backtrackCount));
+            }
+        }
+    }
+
+}
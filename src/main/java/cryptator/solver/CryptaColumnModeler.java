@@ -0,0 +1,241 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.solver;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.IntVar;
+
+import cryptator.CryptaOperator;
+import cryptator.config.CryptaConfig;
+import cryptator.specs.ICryptaModeler;
+import cryptator.specs.ICryptaNode;
+import cryptator.tree.CryptaOperatorDetection;
+import cryptator.tree.TreeTraversals;
+import cryptator.tree.TreeUtils;
+
+public class CryptaColumnModeler implements ICryptaModeler {
+
+    /**
+     * column model for conjunctions of sum equalities that posts a linear
+     * constraint for each column with a signed carry whose domain is computed
+     * from the column bounds.
+     */
+    @Override
+    public CryptaModel model(final ICryptaNode cryptarithm, final CryptaConfig config) throws CryptaModelException {
+        final CryptaOperatorDetection detect = TreeUtils.computeUnsupportedColumnOperator(cryptarithm);
+        if (detect.hasUnsupportedOperator()) {
+            throw new CryptaModelException("Unsupported column operator(s): " + detect.getUnsupportedOperators());
+        }
+        try {
+            final Model model = new Model("Cryptarithm-column");
+            final AbstractModelerNodeConsumer modelerNodeConsumer = new ModelerColumnConsumer(model, config);
+            TreeTraversals.postorderTraversal(cryptarithm, modelerNodeConsumer);
+            modelerNodeConsumer.postConstraints();
+            modelerNodeConsumer.configureSearch();
+            return modelerNodeConsumer.buildCryptaModel();
+        } catch (SolverException e) {
+            throw new CryptaModelException("Internal choco exception");
+        }
+    }
+}
+
+final class ModelerColumnConsumer extends AbstractModelerNodeConsumer {
+
+    private final Deque<ColumnSum> stack = new ArrayDeque<>();
+
+    private int equationCount;
+
+    ModelerColumnConsumer(final Model model, final CryptaConfig config) {
+        super(model, config);
+    }
+
+    private void applyEQ(final ColumnSum a, final ColumnSum b) {
+        a.merge(b, -1);
+        equationCount++;
+        final int base = config.getArithmeticBase();
+        final int n = a.size();
+        IntVar carry = null;
+        int lb = 0;
+        int ub = 0;
+        for (int j = 0; j < n; j++) {
+            final Map<Character, Integer> symbols = a.getSymbols(j);
+            final int constant = a.getConstant(j);
+            final List<IntVar> vars = new ArrayList<>(symbols.size() + 2);
+            final List<Integer> coeffs = new ArrayList<>(symbols.size() + 2);
+            // Bounds of the column sum without the incoming carry.
+            int min = constant;
+            int max = constant;
+            for (Map.Entry<Character, Integer> e : symbols.entrySet()) {
+                final int coeff = e.getValue();
+                if (coeff != 0) {
+                    vars.add(getSymbolVar(e.getKey()));
+                    coeffs.add(coeff);
+                    if (coeff > 0) {
+                        max += coeff * (base - 1);
+                    } else {
+                        min += coeff * (base - 1);
+                    }
+                }
+            }
+            if (carry != null) {
+                vars.add(carry);
+                coeffs.add(1);
+            }
+            // The outgoing carry of the last column is zero.
+            if (j < n - 1) {
+                lb = Math.floorDiv(min + lb, base);
+                ub = Math.floorDiv(max + ub, base);
+                carry = model.intVar("C" + equationCount + "_" + j, lb, ub);
+                vars.add(carry);
+                coeffs.add(-base);
+            }
+            postScalar(vars, coeffs, -constant);
+        }
+    }
+
+    private void postScalar(final List<IntVar> vars, final List<Integer> coeffs, final int value) {
+        if (vars.isEmpty()) {
+            if (value != 0) {
+                model.falseConstraint().post();
+            }
+        } else {
+            final IntVar[] v = vars.toArray(new IntVar[vars.size()]);
+            final int[] c = coeffs.stream().mapToInt(Integer::intValue).toArray();
+            model.scalar(v, c, "=", value).post();
+        }
+    }
+
+    private void apply(final CryptaOperator op, final ColumnSum a, final ColumnSum b) {
+        switch (op) {
+        case ADD: {
+            a.merge(b, 1);
+            stack.push(a);
+            break;
+        }
+        case SUB: {
+            a.merge(b, -1);
+            stack.push(a);
+            break;
+        }
+        case EQ: {
+            applyEQ(a, b);
+            if (!stack.isEmpty()) {
+                throw new IllegalStateException("Stack is not empty after accepting a relational operator.");
+            } else {
+                break;
+            }
+        }
+        default:
+            // Should never be in the default case, see
+            // computeUnsupportedColumnOperator.
+            throw new IllegalStateException("Column operator is not yet implemented");
+        }
+    }
+
+    @Override
+    public void accept(final ICryptaNode node, final int numNode) {
+        super.accept(node, numNode);
+        if (node.isInternalNode()) {
+            if (!node.getOperator().equals(CryptaOperator.AND)) {
+                final ColumnSum b = stack.pop();
+                final ColumnSum a = stack.pop();
+                apply(node.getOperator(), a, b);
+            } // else do nothing ; constraint are posted when the relational operator is
+              // popped.
+        } else {
+            if (node.isConstant()) {
+                stack.push(new ColumnSum(new BigInteger(new String(node.getWord()))));
+            } else {
+                // Create the variables even if the symbols cancel out in the columns.
+                for (char symbol : node.getWord()) {
+                    getSymbolVar(symbol);
+                }
+                stack.push(new ColumnSum(node.getWord()));
+            }
+        }
+    }
+
+    @Override
+    public void postCryptarithmEquationConstraint() throws CryptaModelException {
+        if (!stack.isEmpty()) {
+            throw new CryptaModelException("Invalid stack size at the end of modeling.");
+        }
+    }
+
+    /**
+     * A signed sum of words and constants decomposed into columns (little
+     * endian).
+     */
+    private final class ColumnSum {
+
+        private final List<Map<Character, Integer>> symbols = new ArrayList<>();
+
+        private final List<Integer> constants = new ArrayList<>();
+
+        ColumnSum(final char[] word) {
+            super();
+            final int n = word.length;
+            for (int i = 0; i < n; i++) {
+                getOrCreateColumn(i).merge(word[n - 1 - i], 1, Integer::sum);
+            }
+        }
+
+        ColumnSum(final BigInteger constant) {
+            super();
+            BigInteger v = constant;
+            final BigInteger b = BigInteger.valueOf(config.getArithmeticBase());
+            int i = 0;
+            while (v.signum() > 0) {
+                final BigInteger[] r = v.divideAndRemainder(b);
+                getOrCreateColumn(i);
+                constants.set(i, r[1].intValueExact());
+                v = r[0];
+                i++;
+            }
+        }
+
+        private Map<Character, Integer> getOrCreateColumn(final int j) {
+            while (symbols.size() <= j) {
+                symbols.add(new LinkedHashMap<>());
+                constants.add(0);
+            }
+            return symbols.get(j);
+        }
+
+        public int size() {
+            return symbols.size();
+        }
+
+        public Map<Character, Integer> getSymbols(final int j) {
+            return symbols.get(j);
+        }
+
+        public int getConstant(final int j) {
+            return constants.get(j);
+        }
+
+        public void merge(final ColumnSum other, final int sign) {
+            for (int j = 0; j < other.size(); j++) {
+                final Map<Character, Integer> column = getOrCreateColumn(j);
+                other.getSymbols(j).forEach((c, k) -> column.merge(c, sign * k, Integer::sum));
+                constants.set(j, constants.get(j) + (sign * other.getConstant(j)));
+            }
+        }
+    }
+
+}
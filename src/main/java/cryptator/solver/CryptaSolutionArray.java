@@ -0,0 +1,113 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.solver;
+
+import cryptator.specs.ICryptaSolution;
+
+/**
+ * The Class CryptaSolutionArray is a compact solution: the digits are stored in
+ * an array indexed like a symbol table shared by the solutions of a
+ * cryptarithm.
+ */
+public final class CryptaSolutionArray implements ICryptaSolution {
+
+    /** The digit of an unassigned symbol. */
+    public static final int UNASSIGNED = -1;
+
+    /** The symbol table. */
+    private final CryptaSymbolTable table;
+
+    /** The digits indexed like the symbol table. */
+    private final int[] digits;
+
+    /** The number of assigned symbols. */
+    private final int size;
+
+    /**
+     * Instantiates a new solution.
+     *
+     * The digits are not copied, so they must not be modified afterwards.
+     *
+     * @param table  the symbol table
+     * @param digits the digits indexed like the symbol table (negative if
+     *               unassigned)
+     */
+    public CryptaSolutionArray(final CryptaSymbolTable table, final int[] digits) {
+        super();
+        if (digits.length != table.size()) {
+            throw new IllegalArgumentException("The number of digits does not match the number of symbols.");
+        }
+        this.table = table;
+        this.digits = digits;
+        int n = 0;
+        for (int digit : digits) {
+            if (digit >= 0) {
+                n++;
+            }
+        }
+        this.size = n;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private int getDigitOrNegative(final char symbol) {
+        final int i = table.indexOf(symbol);
+        return i < 0 ? UNASSIGNED : digits[i];
+    }
+
+    @Override
+    public boolean hasDigit(final char symbol) {
+        return getDigitOrNegative(symbol) >= 0;
+    }
+
+    @Override
+    public int getDigit(final char symbol) throws CryptaSolutionException {
+        final int v = getDigitOrNegative(symbol);
+        if (v < 0) {
+            throw new CryptaSolutionException("cant find symbol: " + symbol);
+        }
+        return v;
+    }
+
+    @Override
+    public int getDigit(final char symbol, final int defaultValue) {
+        final int v = getDigitOrNegative(symbol);
+        return v < 0 ? defaultValue : v;
+    }
+
+    @Override
+    public boolean hasDomain(final char symbol) {
+        return hasDigit(symbol);
+    }
+
+    @Override
+    public String getDomain(final char symbol) {
+        final int v = getDigitOrNegative(symbol);
+        return v < 0 ? "?" : Integer.toString(v);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder b1 = new StringBuilder();
+        final StringBuilder b2 = new StringBuilder();
+        for (int i = 0; i < digits.length; i++) {
+            if (digits[i] >= 0) {
+                final String domain = Integer.toString(digits[i]);
+                final String format = " %" + domain.length() + "s|";
+                b1.append(String.format(format, table.getSymbol(i)));
+                b2.append(String.format(format, domain));
+            }
+        }
+        return b1.toString() + "\n" + b2.toString();
+    }
+
+}
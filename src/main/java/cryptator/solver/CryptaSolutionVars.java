@@ -8,7 +8,6 @@
  */
 package cryptator.solver;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import org.chocosolver.solver.variables.IntVar;
@@ -17,8 +16,24 @@ import cryptator.specs.ICryptaSolution;
 
 public class CryptaSolutionVars extends AbstractCryptaSolution<IntVar> {
 
+    /** The symbol table shared by the recorded solutions. */
+    private final CryptaSymbolTable table;
+
+    /** The variables indexed like the symbol table. */
+    private final IntVar[] variables;
+
     public CryptaSolutionVars(final Map<Character, IntVar> symbolsToDigits) {
         super(symbolsToDigits);
+        final char[] symbols = new char[this.symbolsToDigits.size()];
+        int i = 0;
+        for (Character symbol : this.symbolsToDigits.keySet()) {
+            symbols[i++] = symbol;
+        }
+        table = new CryptaSymbolTable(symbols);
+        variables = new IntVar[table.size()];
+        for (i = 0; i < variables.length; i++) {
+            variables[i] = this.symbolsToDigits.get(table.getSymbol(i));
+        }
     }
 
     @Override
@@ -53,13 +68,11 @@ public class CryptaSolutionVars extends AbstractCryptaSolution<IntVar> {
     }
 
     public ICryptaSolution recordSolution() {
-        final Map<Character, Integer> symbolsToDigits = new HashMap<>();
-        this.symbolsToDigits.forEach((symbol, variable) -> {
-            if (variable.isInstantiated()) {
-                symbolsToDigits.put(symbol, variable.getValue());
-            }
-        });
-        return new CryptaSolutionMap(symbolsToDigits);
+        final int[] digits = new int[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            digits[i] = variables[i].isInstantiated() ? variables[i].getValue() : CryptaSolutionArray.UNASSIGNED;
+        }
+        return new CryptaSolutionArray(table, digits);
     }
 
     public boolean isTotalSolution() {
@@ -8,15 +8,29 @@
  */
 package cryptator.solver;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.logging.Level;
 
 import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.variables.IntVar;
 
 import cryptator.choco.ChocoLogger;
 import cryptator.config.CryptaConfig;
 import cryptator.specs.ICryptaModeler;
 import cryptator.specs.ICryptaNode;
 import cryptator.specs.ICryptaSolution;
+import cryptator.tree.TreeTraversals;
+import cryptator.tree.TreeUtils;
 
 public final class CryptaSolver extends AbstractCryptaSolver {
 
@@ -24,6 +38,8 @@ public final class CryptaSolver extends AbstractCryptaSolver {
 
     private ICryptaModeler modeler;
 
+    private int parallelism = 1;
+
     public CryptaSolver() {
         this(false);
     }
@@ -33,6 +49,26 @@ public final class CryptaSolver extends AbstractCryptaSolver {
         modeler = useBignum ? new CryptaBignumModeler() : new CryptaModeler();
     }
 
+    public CryptaSolver(final ICryptaModeler modeler) {
+        super();
+        this.modeler = modeler;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the number of workers that solve the subproblems obtained by splitting
+     * the domains of the leading symbols. The search is sequential if the
+     * parallelism is lower than 2.
+     *
+     * @param parallelism the number of workers
+     */
+    public void setParallelism(final int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     public void setBignum() {
         modeler = new CryptaBignumModeler();
     }
@@ -41,14 +77,24 @@ public final class CryptaSolver extends AbstractCryptaSolver {
         modeler = new CryptaModeler();
     }
 
+    public void setColumn() {
+        modeler = new CryptaColumnModeler();
+    }
+
     @Override
     public boolean solve(final ICryptaNode cryptarithm, final CryptaConfig config,
-            final Consumer<ICryptaSolution> solutionConsumer) throws CryptaModelException {
-        final CryptaModel m = modeler.model(cryptarithm, config);
+            final Consumer<ICryptaSolution> solutionConsumer) throws CryptaModelException, CryptaSolverException {
         logOnCryptarithm(cryptarithm);
         logOnConfiguration(config);
-        CLOG.logOnModel(m);
+        if (parallelism > 1) {
+            final SplitSearch search = new SplitSearch(modeler, cryptarithm, config, parallelism);
+            final List<ICryptaSolution> solutions = search.solve(timeLimit * MS, solutionLimit);
+            solutions.forEach(solutionConsumer);
+            return !solutions.isEmpty();
+        }
 
+        final CryptaModel m = modeler.model(cryptarithm, config);
+        CLOG.logOnModel(m);
         final Solver s = m.getSolver();
         if (timeLimit > 0) {
             s.limitTime(timeLimit * MS); // in ms
@@ -71,4 +117,194 @@ public final class CryptaSolver extends AbstractCryptaSolver {
         return solutionCount > 0;
     }
 
+    /**
+     * The Class SplitSearch splits the search on the domains of the leading
+     * symbols.
+     *
+     * Each subproblem is solved on its own model by a worker of a fork/join pool.
+     * The solutions are merged in the order of the subproblems, and then in the
+     * order of the search of each subproblem. So, the merged solutions do not
+     * depend on the scheduling of the workers.
+     */
+    private static final class SplitSearch {
+
+        /** The minimum number of subproblems per worker. */
+        private static final int SUBPROBLEMS_PER_WORKER = 4;
+
+        private final ICryptaModeler modeler;
+
+        private final ICryptaNode cryptarithm;
+
+        private final CryptaConfig config;
+
+        private final int parallelism;
+
+        /** The split symbols. */
+        private final char[] symbols;
+
+        /** The smallest digit of the split symbols. */
+        private final int lb;
+
+        /** The number of digits of the split symbols. */
+        private final int width;
+
+        /** The number of subproblems. */
+        private final int size;
+
+        /** True if the symbols take distinct digits. */
+        private final boolean distinctDigits;
+
+        /** The solution counts of the subproblems, or -1 if unsolved. */
+        private int[] counts;
+
+        /** The subproblems after the cutoff are useless because of the solution limit. */
+        private final AtomicInteger cutoff = new AtomicInteger(Integer.MAX_VALUE);
+
+        SplitSearch(final ICryptaModeler modeler, final ICryptaNode cryptarithm, final CryptaConfig config,
+                final int parallelism) {
+            super();
+            this.modeler = modeler;
+            this.cryptarithm = cryptarithm;
+            this.config = config;
+            this.parallelism = parallelism;
+            this.lb = config.getAllowLeadingZeros() ? 0 : 1;
+            this.width = config.getArithmeticBase() - lb;
+            final Set<Character> leadingSymbols = new LinkedHashSet<>();
+            TreeTraversals.postorderTraversal(cryptarithm, (node, numNode) -> {
+                if (node.isWord() && node.getWord().length > 0) {
+                    leadingSymbols.add(node.getWord()[0]);
+                }
+            });
+            // The assigned symbols are not split.
+            config.getAssignments().keySet().forEach(k -> {
+                if (k.length() == 1) {
+                    leadingSymbols.remove(k.charAt(0));
+                }
+            });
+            final StringBuilder b = new StringBuilder();
+            int n = 1;
+            for (Character symbol : leadingSymbols) {
+                if (n >= SUBPROBLEMS_PER_WORKER * parallelism || width < 2) {
+                    break;
+                }
+                b.append(symbol);
+                n *= width;
+            }
+            this.symbols = b.toString().toCharArray();
+            this.size = n;
+            this.distinctDigits = config.getMaxDigitOccurence(TreeUtils.computeSymbols(cryptarithm).length) == 1;
+        }
+
+        private int getDigit(final int subproblem, final int j) {
+            int k = subproblem;
+            for (int i = symbols.length - 1; i > j; i--) {
+                k /= width;
+            }
+            return lb + (k % width);
+        }
+
+        /**
+         * Checks if the split symbols of a subproblem take distinct digits when it is
+         * required.
+         */
+        private boolean isDistinct(final int subproblem) {
+            if (distinctDigits) {
+                for (int j = 0; j < symbols.length; j++) {
+                    for (int i = 0; i < j; i++) {
+                        if (getDigit(subproblem, i) == getDigit(subproblem, j)) {
+                            return false;
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        private synchronized void complete(final int subproblem, final int count, final long solutionLimit) {
+            counts[subproblem] = count;
+            if (solutionLimit > 0) {
+                long sum = 0;
+                for (int i = 0; i < size && counts[i] >= 0; i++) {
+                    sum += counts[i];
+                    if (sum >= solutionLimit) {
+                        cutoff.accumulateAndGet(i, Math::min);
+                        break;
+                    }
+                }
+            }
+        }
+
+        private List<ICryptaSolution> solve(final int subproblem, final long deadline, final long solutionLimit)
+                throws CryptaModelException {
+            final List<ICryptaSolution> solutions = new ArrayList<>();
+            if (subproblem > cutoff.get()) {
+                return solutions;
+            }
+            if (!isDistinct(subproblem)) {
+                // The subproblem is infeasible, so its model is not built.
+                complete(subproblem, 0, solutionLimit);
+                return solutions;
+            }
+            final CryptaModel m = modeler.model(cryptarithm, config);
+            for (int j = 0; j < symbols.length; j++) {
+                final IntVar var = m.getSolution().getVar(symbols[j]);
+                m.getModel().arithm(var, "=", getDigit(subproblem, j)).post();
+            }
+            final Solver s = m.getSolver();
+            s.addStopCriterion(() -> subproblem > cutoff.get());
+            if (deadline > 0) {
+                s.addStopCriterion(() -> System.currentTimeMillis() > deadline);
+            }
+            while ((solutionLimit <= 0 || solutions.size() < solutionLimit) && s.solve()) {
+                solutions.add(m.recordSolution());
+            }
+            complete(subproblem, solutions.size(), solutionLimit);
+            return solutions;
+        }
+
+        /**
+         * Solve the subproblems in parallel and merge their solutions.
+         *
+         * @param timeLimit     the time limit in milliseconds (no limit if
+         *                      non-positive)
+         * @param solutionLimit the solution limit (no limit if non-positive)
+         * @return the solutions
+         * @throws CryptaModelException  if there is a modeling exception
+         * @throws CryptaSolverException if there is a solving exception
+         */
+        public List<ICryptaSolution> solve(final long timeLimit, final long solutionLimit)
+                throws CryptaModelException, CryptaSolverException {
+            LOGGER.log(Level.CONFIG, "Split the search on {0} into {1} subproblems.",
+                    new Object[] {new String(symbols), size});
+            counts = new int[size];
+            Arrays.fill(counts, -1);
+            final long deadline = timeLimit > 0 ? System.currentTimeMillis() + timeLimit : 0;
+            final List<Callable<List<ICryptaSolution>>> tasks = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final int subproblem = i;
+                tasks.add(() -> solve(subproblem, deadline, solutionLimit));
+            }
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                final List<ICryptaSolution> solutions = new ArrayList<>();
+                for (Future<List<ICryptaSolution>> future : pool.invokeAll(tasks)) {
+                    solutions.addAll(future.get());
+                }
+                if (solutionLimit > 0 && solutions.size() > solutionLimit) {
+                    return new ArrayList<>(solutions.subList(0, (int) solutionLimit));
+                }
+                return solutions;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof CryptaModelException) {
+                    throw (CryptaModelException) e.getCause();
+                }
+                throw new CryptaSolverException("Split search failure", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CryptaSolverException("Split search interruption", e);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.solver;
+
+import java.util.Arrays;
+
+/**
+ * The Class CryptaSymbolTable is the sorted array of the symbols of a
+ * cryptarithm with a dense index from symbols to positions.
+ *
+ * A table is immutable, so it is shared by all the solutions of a cryptarithm.
+ */
+public final class CryptaSymbolTable {
+
+    /** The maximum range of symbols indexed by an array. */
+    private static final int MAX_DENSE_RANGE = 1 << 10;
+
+    /** The sorted symbols without duplicates. */
+    private final char[] symbols;
+
+    /** The smallest symbol. */
+    private final char offset;
+
+    /** The position of symbol (offset + i) at index i, or -1. Null if too sparse. */
+    private final int[] positions;
+
+    /**
+     * Instantiates a new symbol table.
+     *
+     * @param symbols the symbols (not necessarily sorted)
+     */
+    public CryptaSymbolTable(final char[] symbols) {
+        super();
+        final char[] sorted = Arrays.copyOf(symbols, symbols.length);
+        Arrays.sort(sorted);
+        int n = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (n == 0 || sorted[n - 1] != sorted[i]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        this.symbols = Arrays.copyOf(sorted, n);
+        this.offset = n == 0 ? 0 : this.symbols[0];
+        final int range = n == 0 ? 0 : this.symbols[n - 1] - offset + 1;
+        if (range <= MAX_DENSE_RANGE) {
+            positions = new int[range];
+            Arrays.fill(positions, -1);
+            for (int i = 0; i < n; i++) {
+                positions[this.symbols[i] - offset] = i;
+            }
+        } else {
+            positions = null;
+        }
+    }
+
+    /**
+     * Gets the number of symbols.
+     *
+     * @return the number of symbols
+     */
+    public int size() {
+        return symbols.length;
+    }
+
+    /**
+     * Gets the symbol at a position.
+     *
+     * @param position the position in [0, size())
+     * @return the symbol
+     */
+    public char getSymbol(final int position) {
+        return symbols[position];
+    }
+
+    /**
+     * Gets the position of a symbol.
+     *
+     * @param symbol any symbol
+     * @return the position of the symbol, or -1 if it does not belong to the table
+     */
+    public int indexOf(final char symbol) {
+        if (positions != null) {
+            final int i = symbol - offset;
+            return i >= 0 && i < positions.length ? positions[i] : -1;
+        }
+        final int i = Arrays.binarySearch(symbols, symbol);
+        return i >= 0 ? i : -1;
+    }
+
+}
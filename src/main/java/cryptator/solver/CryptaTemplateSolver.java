@@ -0,0 +1,356 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.solver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.exception.SolverException;
+import org.chocosolver.solver.variables.IntVar;
+import org.chocosolver.util.tools.ArrayUtils;
+
+import cryptator.choco.ChocoLogger;
+import cryptator.config.CryptaConfig;
+import cryptator.specs.ICryptaNode;
+import cryptator.specs.ICryptaSolution;
+import cryptator.tree.CryptaLeaf;
+import cryptator.tree.CryptaNode;
+import cryptator.tree.CryptaOperatorDetection;
+import cryptator.tree.TreeTraversals;
+import cryptator.tree.TreeUtils;
+
+/**
+ * The Class CryptaTemplateSolver reuses the models of cryptarithms with the same
+ * shape.
+ *
+ * The shape of a cryptarithm is obtained by replacing each occurrence of a
+ * symbol by a distinct cell. The template model of a shape is built once and
+ * contains the cell variables, the leading cell and the equation constraints.
+ * Each cryptarithm is then solved by posting temporary constraints that bind
+ * the cells of the same symbol, the cardinality and the assignment
+ * constraints. These constraints are removed and the solver is reset after
+ * the resolution.
+ *
+ * This solver is not thread-safe.
+ */
+public final class CryptaTemplateSolver extends AbstractCryptaSolver {
+
+    private static final ChocoLogger CLOG = new ChocoLogger(LOGGER);
+
+    /** The maximum number of templates in the cache. */
+    private static final int CACHE_CAPACITY = 256;
+
+    /** The symbol of the first cell (in the unicode private use area). */
+    private static final char FIRST_CELL = '\uE000';
+
+    private final boolean useBignum;
+
+    /** The least recently used templates indexed by shape. */
+    private final Map<String, CryptaModelTemplate> templates = new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 2516089733187640178L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, CryptaModelTemplate> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+
+    public CryptaTemplateSolver() {
+        this(false);
+    }
+
+    public CryptaTemplateSolver(final boolean useBignum) {
+        super();
+        this.useBignum = useBignum;
+    }
+
+    /**
+     * Gets the number of cached templates.
+     *
+     * @return the template count
+     */
+    public int getTemplateCount() {
+        return templates.size();
+    }
+
+    private static String getTemplateKey(final CryptaShape shape, final CryptaConfig config) {
+        return shape.getKey() + "|" + config.getArithmeticBase() + "|" + config.getAllowLeadingZeros() + "|"
+                + config.getHornerScheme() + "|" + config.getSearchStrategy();
+    }
+
+    private CryptaModelTemplate buildTemplate(final CryptaShape shape, final CryptaConfig config)
+            throws CryptaModelException {
+        final Model model;
+        final AbstractModelerNodeConsumer modelerNodeConsumer;
+        if (useBignum) {
+            final CryptaOperatorDetection detect = TreeUtils.computeUnsupportedBignumOperator(shape.getTree());
+            if (detect.hasUnsupportedOperator()) {
+                throw new CryptaModelException("Unsupported bignum operator(s): " + detect.getUnsupportedOperators());
+            }
+            model = new Model("Cryptarithm-bignum-template");
+            modelerNodeConsumer = new ModelerBignumConsumer(model, config);
+        } else {
+            model = new Model("Cryptarithm-template");
+            modelerNodeConsumer = new ModelerConsumer(model, config);
+        }
+        TreeTraversals.postorderTraversal(shape.getTree(), modelerNodeConsumer);
+        modelerNodeConsumer.postSkeletonConstraints();
+        modelerNodeConsumer.configureSearch();
+        final IntVar[] cells = new IntVar[shape.getCellCount()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = modelerNodeConsumer.symbolsToVariables.get((char) (FIRST_CELL + i));
+        }
+        return new CryptaModelTemplate(model, cells);
+    }
+
+    private CryptaModelTemplate getTemplate(final CryptaShape shape, final CryptaConfig config)
+            throws CryptaModelException {
+        final String key = getTemplateKey(shape, config);
+        CryptaModelTemplate template = templates.get(key);
+        if (template == null) {
+            template = buildTemplate(shape, config);
+            templates.put(key, template);
+        }
+        return template;
+    }
+
+    @Override
+    public boolean solve(final ICryptaNode cryptarithm, final CryptaConfig config,
+            final Consumer<ICryptaSolution> solutionConsumer) throws CryptaModelException {
+        final CryptaShape shape = new CryptaShape(cryptarithm);
+        try {
+            final CryptaModelTemplate template = getTemplate(shape, config);
+            try {
+                final CryptaModel m = template.bind(shape.getSymbolsToCells(), config);
+                logOnCryptarithm(cryptarithm);
+                logOnConfiguration(config);
+                CLOG.logOnModel(m);
+
+                final Solver s = m.getSolver();
+                s.removeAllStopCriteria();
+                if (timeLimit > 0) {
+                    s.limitTime(timeLimit * MS); // in ms
+                }
+                int solutionCount = 0;
+                while ((solutionLimit <= 0 || solutionCount < solutionLimit) && s.solve()) {
+                    CLOG.logOnSolution(m.getModel());
+                    solutionConsumer.accept(m.recordSolution());
+                    solutionCount++;
+                }
+                CLOG.logOnSolver(m);
+                return solutionCount > 0;
+            } finally {
+                template.unbind();
+            }
+        } catch (SolverException e) {
+            throw new CryptaModelException("Internal choco exception");
+        }
+    }
+
+    /**
+     * The shape of a cryptarithm where each occurrence of a symbol is replaced by
+     * a distinct cell.
+     */
+    private static final class CryptaShape {
+
+        private final StringBuilder key = new StringBuilder();
+
+        private final Map<Character, List<Integer>> symbolsToCells = new LinkedHashMap<>();
+
+        private int cellCount;
+
+        private final ICryptaNode tree;
+
+        CryptaShape(final ICryptaNode cryptarithm) {
+            super();
+            tree = copy(cryptarithm);
+        }
+
+        private ICryptaNode copy(final ICryptaNode node) {
+            if (node.isInternalNode()) {
+                final ICryptaNode left = copy(node.getLeftChild());
+                final ICryptaNode right = copy(node.getRightChild());
+                key.append(node.getOperator().name()).append(' ');
+                return new CryptaNode(node.getOperator(), left, right);
+            } else if (node.isConstant()) {
+                key.append('\'').append(node.getWord()).append("' ");
+                return node;
+            } else {
+                final char[] word = node.getWord();
+                final char[] cells = new char[word.length];
+                for (int i = 0; i < word.length; i++) {
+                    symbolsToCells.computeIfAbsent(word[i], s -> new ArrayList<>()).add(cellCount);
+                    cells[i] = (char) (FIRST_CELL + cellCount);
+                    cellCount++;
+                }
+                key.append(word.length).append(' ');
+                return new CryptaLeaf(cells);
+            }
+        }
+
+        public String getKey() {
+            return key.toString();
+        }
+
+        public Map<Character, List<Integer>> getSymbolsToCells() {
+            return symbolsToCells;
+        }
+
+        public int getCellCount() {
+            return cellCount;
+        }
+
+        public ICryptaNode getTree() {
+            return tree;
+        }
+    }
+
+}
+
+/**
+ * The Class CryptaModelTemplate is a model whose symbols are bound by temporary
+ * constraints.
+ */
+final class CryptaModelTemplate {
+
+    private final Model model;
+
+    private final IntVar[] cells;
+
+    /** The temporary constraints of the current binding. */
+    private final List<Constraint> temporary = new ArrayList<>();
+
+    /** The occurrence variables of the cardinality constraints. */
+    private final Map<Long, IntVar[]> occurrences = new HashMap<>();
+
+    /**
+     * The constraints that fix the occurrence variables unused by the current
+     * binding, so that they do not multiply the solutions.
+     */
+    private final Map<Long, Constraint[]> idleOccurrences = new HashMap<>();
+
+    /** The key of the occurrence variables used by the current binding, or null. */
+    private Long boundOccurrences;
+
+    CryptaModelTemplate(final Model model, final IntVar[] cells) {
+        super();
+        this.model = model;
+        this.cells = cells;
+    }
+
+    private void post(final Constraint constraint) {
+        constraint.post();
+        temporary.add(constraint);
+    }
+
+    private IntVar[] getOccurrences(final int lb, final int ub, final int base) {
+        final long key = ((long) lb << Integer.SIZE) | ub;
+        final Constraint[] idle = idleOccurrences.remove(key);
+        if (idle != null) {
+            for (Constraint constraint : idle) {
+                model.unpost(constraint);
+            }
+        }
+        boundOccurrences = key;
+        return occurrences.computeIfAbsent(key, k -> model.intVarArray("O", base, lb, ub, false));
+    }
+
+    private void releaseOccurrences() {
+        if (boundOccurrences != null) {
+            final IntVar[] vars = occurrences.get(boundOccurrences);
+            final Constraint[] idle = new Constraint[vars.length];
+            for (int i = 0; i < vars.length; i++) {
+                idle[i] = model.arithm(vars[i], "=", vars[i].getLB());
+                idle[i].post();
+            }
+            idleOccurrences.put(boundOccurrences, idle);
+            boundOccurrences = null;
+        }
+    }
+
+    private void postGlobalCardinalityConstraint(final IntVar[] vars, final CryptaConfig config) {
+        final int n = vars.length;
+        if (n > 0) {
+            final int maxOcc = config.getMaxDigitOccurence(n);
+            if (maxOcc == 1) {
+                post(model.allDifferent(vars));
+            } else {
+                final int minOcc = config.getMinDigitOccurence(n);
+                final int base = config.getArithmeticBase();
+                final int[] values = ArrayUtils.array(0, base - 1);
+                post(model.globalCardinality(vars, values, getOccurrences(minOcc, maxOcc, base), true));
+            }
+        }
+    }
+
+    private void postAssignConstraint(final Map.Entry<String, String> assign,
+            final Map<Character, IntVar> symbolsToVariables) throws CryptaModelException {
+        final String skey = assign.getKey();
+        if (skey.length() == 1) {
+            final Character key = skey.charAt(0);
+            if (symbolsToVariables.containsKey(key)) {
+                try {
+                    final int digit = Integer.parseInt(assign.getValue());
+                    post(model.arithm(symbolsToVariables.get(key), "=", digit));
+                    return;
+                } catch (NumberFormatException e) {
+                }
+            }
+        }
+        throw new CryptaModelException("The assignment is invalid: " + assign);
+    }
+
+    /**
+     * Bind the cells to the symbols of a cryptarithm.
+     *
+     * @param symbolsToCells the cells of each symbol
+     * @param config         the configuration
+     * @return the model of the cryptarithm
+     * @throws CryptaModelException if an assignment is invalid
+     */
+    public CryptaModel bind(final Map<Character, List<Integer>> symbolsToCells, final CryptaConfig config)
+            throws CryptaModelException {
+        final Map<Character, IntVar> symbolsToVariables = new HashMap<>();
+        for (Map.Entry<Character, List<Integer>> entry : symbolsToCells.entrySet()) {
+            final List<Integer> symbolCells = entry.getValue();
+            final IntVar var = cells[symbolCells.get(0)];
+            symbolsToVariables.put(entry.getKey(), var);
+            for (int i = 1; i < symbolCells.size(); i++) {
+                post(model.arithm(var, "=", cells[symbolCells.get(i)]));
+            }
+        }
+        final IntVar[] vars = symbolsToVariables.values().toArray(new IntVar[symbolsToVariables.size()]);
+        postGlobalCardinalityConstraint(vars, config);
+        for (Map.Entry<String, String> assign : config.getAssignments().entrySet()) {
+            postAssignConstraint(assign, symbolsToVariables);
+        }
+        return new CryptaModel(model, symbolsToVariables);
+    }
+
+    /**
+     * Reset the solver, remove the temporary constraints, and fix the occurrence
+     * variables that were used by the binding.
+     */
+    public void unbind() {
+        model.getSolver().reset();
+        for (Constraint constraint : temporary) {
+            model.unpost(constraint);
+        }
+        temporary.clear();
+        releaseOccurrences();
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+import org.chocosolver.solver.Solver;
+
+import cryptator.choco.ChocoLogger;
+import cryptator.config.CryptaConfig;
+import cryptator.specs.ICryptaModeler;
+import cryptator.specs.ICryptaNode;
+import cryptator.specs.ICryptaSolution;
+
+/**
+ * The Class PortfolioSolver races several models and search strategies on
+ * separate threads.
+ *
+ * The first configuration that proves its answer, or reaches the solution
+ * limit, wins and the others are stopped. The solutions of the winner are then
+ * forwarded to the consumer. If no configuration wins before the time limit,
+ * the solutions of the configuration with the most solutions are forwarded.
+ */
+public final class PortfolioSolver extends AbstractCryptaSolver {
+
+    private static final ChocoLogger CLOG = new ChocoLogger(LOGGER);
+
+    /** The executor shared by the races. */
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        final Thread thread = new Thread(r, "portfolio");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PortfolioSolver() {
+        super();
+    }
+
+    private static CryptaConfig copyConfig(final CryptaConfig config, final boolean hornerScheme,
+            final int searchStrategy) {
+        final CryptaConfig copy = new CryptaConfig();
+        copy.setArithmeticBase(config.getArithmeticBase());
+        copy.setAllowLeadingZeros(config.getAllowLeadingZeros());
+        copy.setAssignments(config.getAssignments());
+        copy.setHornerScheme(hornerScheme);
+        copy.setSearchStrategy(searchStrategy);
+        return copy;
+    }
+
+    private List<PortfolioTask> createTasks(final ICryptaNode cryptarithm, final CryptaConfig config,
+            final AtomicBoolean cancelled) {
+        final List<PortfolioTask> tasks = new ArrayList<>();
+        for (int search = 0; search <= 1; search++) {
+            tasks.add(new PortfolioTask("exponentiation-" + search, new CryptaModeler(), cryptarithm,
+                    copyConfig(config, false, search), cancelled));
+            tasks.add(new PortfolioTask("horner-" + search, new CryptaModeler(), cryptarithm,
+                    copyConfig(config, true, search), cancelled));
+            tasks.add(new PortfolioTask("bignum-" + search, new CryptaBignumModeler(), cryptarithm,
+                    copyConfig(config, false, search), cancelled));
+        }
+        return tasks;
+    }
+
+    private static PortfolioTask selectBest(final PortfolioTask best, final PortfolioTask task) {
+        if (best == null || task.getSolutions().size() > best.getSolutions().size()) {
+            return task;
+        }
+        return best;
+    }
+
+    private PortfolioTask race(final List<PortfolioTask> tasks, final AtomicBoolean cancelled)
+            throws CryptaModelException, CryptaSolverException {
+        final CompletionService<PortfolioTask> service = new ExecutorCompletionService<>(executor);
+        tasks.forEach(service::submit);
+        PortfolioTask best = null;
+        Throwable failure = null;
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                try {
+                    final PortfolioTask task = service.take().get();
+                    if (task.isDecisive()) {
+                        return task;
+                    }
+                    best = selectBest(best, task);
+                } catch (ExecutionException e) {
+                    // The other configurations can still win.
+                    failure = e.getCause();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CryptaSolverException("Portfolio interruption", e);
+        } finally {
+            cancelled.set(true);
+        }
+        if (best == null && failure != null) {
+            if (failure instanceof CryptaModelException) {
+                throw (CryptaModelException) failure;
+            }
+            throw new CryptaSolverException("Portfolio configuration failure", failure);
+        }
+        return best;
+    }
+
+    @Override
+    public boolean solve(final ICryptaNode cryptarithm, final CryptaConfig config,
+            final Consumer<ICryptaSolution> solutionConsumer) throws CryptaModelException, CryptaSolverException {
+        logOnCryptarithm(cryptarithm);
+        logOnConfiguration(config);
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final PortfolioTask winner = race(createTasks(cryptarithm, config, cancelled), cancelled);
+        if (winner == null) {
+            return false;
+        }
+        LOGGER.log(Level.CONFIG, "Portfolio winner: {0}", winner.getName());
+        CLOG.logOnSolver(winner.getModel());
+        winner.getSolutions().forEach(solutionConsumer);
+        return !winner.getSolutions().isEmpty();
+    }
+
+    /**
+     * The Class PortfolioTask solves the cryptarithm with one configuration.
+     */
+    private final class PortfolioTask implements Callable<PortfolioTask> {
+
+        private final String name;
+
+        private final ICryptaModeler modeler;
+
+        private final ICryptaNode cryptarithm;
+
+        private final CryptaConfig config;
+
+        private final AtomicBoolean cancelled;
+
+        private final List<ICryptaSolution> solutions = new ArrayList<>();
+
+        private CryptaModel model;
+
+        private boolean decisive;
+
+        PortfolioTask(final String name, final ICryptaModeler modeler, final ICryptaNode cryptarithm,
+                final CryptaConfig config, final AtomicBoolean cancelled) {
+            super();
+            this.name = name;
+            this.modeler = modeler;
+            this.cryptarithm = cryptarithm;
+            this.config = config;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public PortfolioTask call() throws CryptaModelException {
+            model = modeler.model(cryptarithm, config);
+            final Solver s = model.getSolver();
+            s.addStopCriterion(cancelled::get);
+            if (timeLimit > 0) {
+                s.limitTime(timeLimit * MS); // in ms
+            }
+            while ((solutionLimit <= 0 || solutions.size() < solutionLimit) && s.solve()) {
+                solutions.add(model.recordSolution());
+            }
+            // The search is complete, or the solution limit is reached.
+            decisive = !cancelled.get()
+                    && ((solutionLimit > 0 && solutions.size() >= solutionLimit) || !s.isStopCriterionMet());
+            return this;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public CryptaModel getModel() {
+            return model;
+        }
+
+        public List<ICryptaSolution> getSolutions() {
+            return solutions;
+        }
+
+        public boolean isDecisive() {
+            return decisive;
+        }
+
+    }
+
+}
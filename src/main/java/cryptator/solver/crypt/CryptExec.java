@@ -24,6 +24,9 @@ public final class CryptExec {
     /** The Constant QUIT command for the crypt solver. */
     private static final String QUIT = "quit\n";
 
+    /** The constant pattern PSTATS that matches solution statistics. */
+    static final String PSTATS = "\\s*[0-9]+ solution\\(s\\),\\s[0-9]+\\smsec.";
+
     /** The Constant bytes for QUIT. */
     private static final byte[] QBYTES = QUIT.getBytes();
 
@@ -0,0 +1,226 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.solver.crypt;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * The Class CryptPool keeps long-lived crypt processes.
+ *
+ * Each worker process receives many requests on its standard input. The output
+ * of a request ends with the statistics line of the crypt solver. A worker that
+ * crashes or exceeds the timeout of a request is destroyed, and restarted on
+ * its next request. The owner of the pool closes it.
+ */
+public final class CryptPool implements AutoCloseable {
+
+    /** The idle workers. */
+    private final BlockingQueue<CryptWorker> idle;
+
+    /** All the workers. */
+    private final List<CryptWorker> workers;
+
+    /**
+     * Instantiates a new pool of crypt workers.
+     *
+     * The worker processes are started lazily.
+     *
+     * @param command the crypt command
+     * @param size    the number of workers
+     */
+    public CryptPool(final String command, final int size) {
+        super();
+        if (size < 1) {
+            throw new IllegalArgumentException("The pool size must be positive: " + size);
+        }
+        idle = new ArrayBlockingQueue<>(size);
+        workers = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final CryptWorker worker = new CryptWorker(command);
+            workers.add(worker);
+            idle.add(worker);
+        }
+    }
+
+    /**
+     * Gets the number of workers.
+     *
+     * @return the pool size
+     */
+    public int size() {
+        return workers.size();
+    }
+
+    /**
+     * Execute a request on an idle worker.
+     *
+     * @param bytes    the request bytes
+     * @param consumer the consumer for the output of the request
+     * @param timeout  the timeout in milliseconds (no timeout if non-positive)
+     * @throws IOException          if the worker crashed or an I/O error occurred
+     * @throws InterruptedException the interrupted exception
+     * @throws TimeoutException     if the request exceeded the timeout
+     */
+    public void exec(final byte[] bytes, final Consumer<String> consumer, final long timeout)
+            throws IOException, InterruptedException, TimeoutException {
+        final CryptWorker worker = idle.take();
+        try {
+            worker.exec(bytes, consumer, timeout);
+        } finally {
+            idle.add(worker);
+        }
+    }
+
+    /**
+     * Destroy all the worker processes.
+     */
+    @Override
+    public void close() {
+        for (CryptWorker worker : workers) {
+            worker.destroy();
+        }
+    }
+
+}
+
+/**
+ * The Class CryptWorker is a long-lived crypt process.
+ */
+final class CryptWorker {
+
+    /** The pattern of the statistics line that ends the output of a request. */
+    private static final Pattern STATS = Pattern.compile(CryptExec.PSTATS);
+
+    /** The process builder. */
+    private final ProcessBuilder processBuilder;
+
+    /** The process. */
+    private Process process;
+
+    /** The standard input of the process. */
+    private OutputStream stdin;
+
+    /** The output lines of the process, or empty at the end of the output. */
+    private BlockingQueue<Optional<String>> lines;
+
+    /**
+     * Instantiates a new crypt worker.
+     *
+     * @param command the crypt command
+     */
+    CryptWorker(final String command) {
+        super();
+        this.processBuilder = new ProcessBuilder(command);
+        processBuilder.redirectOutput(ProcessBuilder.Redirect.PIPE);
+        // The error stream is never read, so a long-lived process must not fill its pipe.
+        processBuilder.redirectError(ProcessBuilder.Redirect.DISCARD);
+    }
+
+    private synchronized void start() throws IOException {
+        process = processBuilder.start();
+        stdin = process.getOutputStream();
+        // Each process has its own queue, so no line of a destroyed process is read.
+        final BlockingQueue<Optional<String>> queue = new LinkedBlockingQueue<>();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        final Thread thread = new Thread(() -> {
+            try (reader) {
+                reader.lines().forEach(line -> queue.add(Optional.of(line)));
+            } catch (IOException | UncheckedIOException e) {
+                // The process is terminated.
+            } finally {
+                queue.add(Optional.empty());
+            }
+        }, "crypt-worker-reader");
+        thread.setDaemon(true);
+        thread.start();
+        lines = queue;
+    }
+
+    /**
+     * Destroy the process if any.
+     */
+    synchronized void destroy() {
+        if (process != null) {
+            process.destroyForcibly();
+            process = null;
+            stdin = null;
+            lines = null;
+        }
+    }
+
+    private Optional<String> nextLine(final long timeout, final long deadline)
+            throws InterruptedException, TimeoutException {
+        final Optional<String> line = timeout > 0
+                ? lines.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS)
+                : lines.take();
+        if (line == null) {
+            destroy();
+            throw new TimeoutException("The crypt request exceeded the timeout of " + timeout + " ms.");
+        }
+        return line;
+    }
+
+    private boolean acceptLine(final Optional<String> line, final Consumer<String> consumer) throws IOException {
+        if (line.isEmpty()) {
+            destroy();
+            throw new IOException("The crypt worker terminated unexpectedly.");
+        }
+        consumer.accept(line.get());
+        return STATS.matcher(line.get()).matches();
+    }
+
+    /**
+     * Execute a request.
+     *
+     * @param bytes    the request bytes
+     * @param consumer the consumer for the output of the request
+     * @param timeout  the timeout in milliseconds (no timeout if non-positive)
+     * @throws IOException          if the worker crashed or an I/O error occurred
+     * @throws InterruptedException the interrupted exception
+     * @throws TimeoutException     if the request exceeded the timeout
+     */
+    void exec(final byte[] bytes, final Consumer<String> consumer, final long timeout)
+            throws IOException, InterruptedException, TimeoutException {
+        if (process == null || !process.isAlive()) {
+            destroy();
+            start();
+        }
+        try {
+            stdin.write(bytes);
+            stdin.flush();
+        } catch (IOException e) {
+            destroy();
+            throw e;
+        }
+        final long deadline = System.currentTimeMillis() + timeout;
+        try {
+            while (!acceptLine(nextLine(timeout, deadline), consumer)) {
+                // Read the output until the statistics line.
+            }
+        } catch (InterruptedException e) {
+            // The remaining output of the request would be read by the next one.
+            destroy();
+            throw e;
+        }
+    }
+}
@@ -9,8 +9,10 @@
 package cryptator.solver.crypt;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 
@@ -18,8 +20,9 @@ import cryptator.config.CryptaCmdConfig;
 import cryptator.config.CryptaConfig;
 import cryptator.solver.AbstractCryptaSolver;
 import cryptator.solver.CryptaModelException;
-import cryptator.solver.CryptaSolutionMap;
+import cryptator.solver.CryptaSolutionArray;
 import cryptator.solver.CryptaSolverException;
+import cryptator.solver.CryptaSymbolTable;
 import cryptator.specs.ICryptaNode;
 import cryptator.specs.ICryptaSolution;
 import cryptator.tree.TreeUtils;
@@ -29,33 +32,56 @@ import cryptator.tree.TreeUtils;
  */
 public class CryptSolver extends AbstractCryptaSolver {
 
+    /** The pools of long-lived crypt workers indexed by command and size. */
+    private static final Map<Map.Entry<String, Integer>, CryptPool> POOLS = new ConcurrentHashMap<>();
+
+    static {
+        // A single hook destroys the workers of all the pools.
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> POOLS.values().forEach(CryptPool::close)));
+    }
+
+    private static CryptPool getPool(final String command, final int size) {
+        return POOLS.computeIfAbsent(Map.entry(command, size), k -> new CryptPool(command, size));
+    }
+
     @Override
     public boolean solve(final ICryptaNode cryptarithm, final CryptaConfig config,
             final Consumer<ICryptaSolution> consumer) throws CryptaModelException, CryptaSolverException {
         logOnCryptarithm(cryptarithm);
         logOnConfiguration(config);
+        final CryptaCmdConfig cmdConfig = (CryptaCmdConfig) config;
+        final boolean pooled = cmdConfig.getCryptWorkers() > 0;
         StringBuilder b = new StringBuilder();
-        // Set the solution limit if any
+        // Set the solution limit if any.
+        // A worker keeps the limit of its previous request, so it is always set.
         if (solutionLimit > 0) {
             b.append("limit ").append(solutionLimit).append("\n");
+        } else if (pooled) {
+            b.append("limit ").append(Integer.MAX_VALUE).append("\n");
         }
-        // The time limit is ignored.
+        // The time limit is only used by the workers.
 
         // Enter the cryptarithm
         b.append(TreeUtils.writeInorder(cryptarithm)).append("\n");
         // Solve the cryptarithm with the crypt solver
+        final CryptConsumer cryptConsumer = new CryptConsumer(consumer);
         try {
-            final CryptExec crypt = new CryptExec(((CryptaCmdConfig) config).getCryptCommand());
-            final CryptConsumer cryptConsumer = new CryptConsumer(consumer);
-            crypt.exec(b.toString().getBytes(), cryptConsumer);
-            return cryptConsumer.getSolutionCount() > 0;
+            if (pooled) {
+                final CryptPool pool = getPool(cmdConfig.getCryptCommand(), cmdConfig.getCryptWorkers());
+                pool.exec(b.toString().getBytes(), cryptConsumer, timeLimit * MS);
+            } else {
+                final CryptExec crypt = new CryptExec(cmdConfig.getCryptCommand());
+                crypt.exec(b.toString().getBytes(), cryptConsumer);
+            }
         } catch (IOException e) {
             LOGGER.log(Level.SEVERE, "Crypt solver error", e);
+        } catch (TimeoutException e) {
+            LOGGER.log(Level.WARNING, "Crypt solver timeout", e);
         } catch (InterruptedException e) {
             LOGGER.log(Level.SEVERE, "Crypt solver interruption", e);
             Thread.currentThread().interrupt();
         }
-        return false;
+        return cryptConsumer.getSolutionCount() > 0;
     }
 
     /**
@@ -69,9 +95,6 @@ public class CryptSolver extends AbstractCryptaSolver {
         /** The constant pattern PSOL that matches a cryptarithm solution. */
         private static final String PSOL = "[\\s0-9\\+=]*";
 
-        /** The constant pattern PSTATS that matches solution statistics. */
-        private static final String PSTATS = "\\s*[0-9]+ solution\\(s\\),\\s[0-9]+\\smsec.";
-
         /** The consumer for the solution. */
         private final Consumer<ICryptaSolution> consumer;
 
@@ -81,6 +104,9 @@ public class CryptSolver extends AbstractCryptaSolver {
         /** The current cryptarithm. */
         private String current;
 
+        /** The symbol table of the current cryptarithm. */
+        private CryptaSymbolTable table;
+
         /**
          * Instantiates a new crypt output consumer.
          *
@@ -108,6 +134,13 @@ public class CryptSolver extends AbstractCryptaSolver {
         private void acceptCryptarithm(final String str) {
             current = str.trim();
             LOGGER.finer(current);
+            final StringBuilder symbols = new StringBuilder();
+            for (int i = 0; i < current.length(); i++) {
+                if (Character.isLetter(current.charAt(i))) {
+                    symbols.append(current.charAt(i));
+                }
+            }
+            table = new CryptaSymbolTable(symbols.toString().toCharArray());
         }
 
         /**
@@ -118,16 +151,20 @@ public class CryptSolver extends AbstractCryptaSolver {
         private void acceptSolution(final String str) {
             final String solution = str.trim();
             LOGGER.finer(solution);
-            final Map<Character, Integer> map = new TreeMap<>();
+            final int[] digits = new int[table.size()];
+            Arrays.fill(digits, CryptaSolutionArray.UNASSIGNED);
             final int n = current.length();
             for (int i = 0; i < n; i++) {
                 final char letter = current.charAt(i);
                 if (Character.isLetter(letter)) {
-                    final Integer digit = Integer.parseInt(solution.substring(i, i + 1));
-                    map.putIfAbsent(letter, digit);
+                    final int j = table.indexOf(letter);
+                    if (j >= 0 && digits[j] < 0) {
+                        digits[j] = Integer.parseInt(solution.substring(i, i + 1));
+                    }
                 }
             }
-            consumer.accept(new CryptaSolutionMap(map));
+            solutionCount++;
+            consumer.accept(new CryptaSolutionArray(table, digits));
         }
 
         /**
@@ -141,7 +178,6 @@ public class CryptSolver extends AbstractCryptaSolver {
                 LOGGER.finer(stats);
                 final String[] split = stats.split("\\s+");
                 double runtime = Double.parseDouble(split[2]) / MS;
-                solutionCount = Integer.parseInt(split[0]);
                 final String format = "Solver diagnostics:\nd TIME %.3f\nd NBSOLS %s";
                 final String diagnostics = String.format(format, runtime, split[0]);
                 LOGGER.info(diagnostics);
@@ -168,7 +204,7 @@ public class CryptSolver extends AbstractCryptaSolver {
                 acceptCryptarithm(str);
             } else if (str.matches(PSOL)) {
                 acceptSolution(str);
-            } else if (str.matches(PSTATS)) {
+            } else if (str.matches(CryptExec.PSTATS)) {
                 acceptStatistics(str);
             } else {
                 acceptOther(str);
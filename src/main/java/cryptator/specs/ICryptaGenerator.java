@@ -8,8 +8,13 @@
  */
 package cryptator.specs;
 
+import java.util.concurrent.Flow;
 import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
+import cryptator.gen.CryptaGenerationIterator;
+import cryptator.gen.CryptaGenerationPublisher;
+import cryptator.gen.GeneratedCryptarithm;
 import cryptator.solver.CryptaModelException;
 
 /**
@@ -28,4 +33,40 @@ public interface ICryptaGenerator {
      */
     long generate(BiConsumer<ICryptaNode, ICryptaSolution> consumer) throws CryptaModelException;
 
+    /**
+     * Stop the generation as soon as possible. It can be called from any thread.
+     * A stopped generator does not generate cryptarithms anymore.
+     */
+    void stop();
+
+    /**
+     * Iterate over the generated cryptarithms. The generation runs on another
+     * thread as long as the cryptarithms are consumed.
+     *
+     * @return the iterator that must be closed to stop the generation early
+     */
+    default CryptaGenerationIterator iterator() {
+        return new CryptaGenerationIterator(this);
+    }
+
+    /**
+     * Stream the generated cryptarithms. For instance, the first n cryptarithms
+     * are taken by a stream limited to n elements.
+     *
+     * @return the stream that must be closed to stop the generation early
+     */
+    default Stream<GeneratedCryptarithm> stream() {
+        return CryptaGenerationIterator.stream(this);
+    }
+
+    /**
+     * Publish the generated cryptarithms to a single subscriber. The generation
+     * stops when the subscription is cancelled.
+     *
+     * @return the publisher
+     */
+    default Flow.Publisher<GeneratedCryptarithm> publisher() {
+        return new CryptaGenerationPublisher(this);
+    }
+
 }
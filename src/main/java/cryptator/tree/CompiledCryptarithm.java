@@ -0,0 +1,290 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator.tree;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import cryptator.CryptaOperator;
+import cryptator.solver.CryptaSolutionException;
+import cryptator.specs.ICryptaNode;
+import cryptator.specs.ICryptaSolution;
+import cryptator.specs.ITraversalNodeConsumer;
+
+/**
+ * The Class CompiledCryptarithm is a cryptarithm compiled into a flat postfix
+ * program for repeated evaluations.
+ *
+ * The program is built once from the tree. Each instruction pushes a word, or a
+ * constant, or applies an operator. A word is a sequence of indices in the
+ * sorted array of symbols, so the solutions are given as digit vectors indexed
+ * like the symbols. The evaluation uses long values and the precomputed powers
+ * of the base, and falls back to big integers on overflow.
+ *
+ * A compiled cryptarithm is immutable and thread-safe.
+ */
+public final class CompiledCryptarithm {
+
+    /** The opcode that pushes a word. */
+    private static final int PUSH_WORD = -1;
+
+    /** The opcode that pushes a constant. */
+    private static final int PUSH_CONST = -2;
+
+    /** The operators indexed by their ordinal (the opcode of an operator). */
+    private static final CryptaOperator[] OPERATORS = CryptaOperator.values();
+
+    /** The base. */
+    private final int base;
+
+    /** The sorted symbols. */
+    private final char[] symbols;
+
+    /** The opcodes of the instructions. */
+    private final int[] opcodes;
+
+    /** The word or constant index of the push instructions. */
+    private final int[] operands;
+
+    /** The word i is given by the slots in [wordStarts[i], wordStarts[i+1]). */
+    private final int[] wordStarts;
+
+    /** The symbol indices of the words. */
+    private final int[] wordSlots;
+
+    /** The powers of the base that fit in a long. */
+    private final long[] powers;
+
+    /** The constants. */
+    private final BigInteger[] constants;
+
+    /** The maximum size of the evaluation stack. */
+    private final int maxStackSize;
+
+    /**
+     * Compile a cryptarithm.
+     *
+     * @param cryptarithm the cryptarithm
+     * @param base        the base of the cryptarithm
+     */
+    public CompiledCryptarithm(final ICryptaNode cryptarithm, final int base) {
+        super();
+        this.base = base;
+        this.symbols = TreeUtils.computeSymbols(cryptarithm);
+        final Compiler compiler = new Compiler();
+        TreeTraversals.postorderTraversal(cryptarithm, compiler);
+        opcodes = compiler.opcodes.stream().mapToInt(Integer::intValue).toArray();
+        operands = compiler.operands.stream().mapToInt(Integer::intValue).toArray();
+        wordStarts = compiler.wordStarts.stream().mapToInt(Integer::intValue).toArray();
+        wordSlots = compiler.wordSlots.stream().mapToInt(Integer::intValue).toArray();
+        constants = compiler.constants.toArray(new BigInteger[compiler.constants.size()]);
+        maxStackSize = compiler.maxStackSize;
+        powers = computePowers(base);
+    }
+
+    private static long[] computePowers(final int base) {
+        final List<Long> list = new ArrayList<>();
+        long p = 1;
+        try {
+            while (true) {
+                list.add(p);
+                p = Math.multiplyExact(p, base);
+            }
+        } catch (ArithmeticException e) {
+            return list.stream().mapToLong(Long::longValue).toArray();
+        }
+    }
+
+    /**
+     * Gets the sorted symbols that give the indices of the digit vectors.
+     *
+     * @return a copy of the symbols
+     */
+    public char[] getSymbols() {
+        return Arrays.copyOf(symbols, symbols.length);
+    }
+
+    public int getBase() {
+        return base;
+    }
+
+    /**
+     * Gets the digit vector of a solution.
+     *
+     * @param solution the solution
+     * @return the digits indexed like the symbols
+     * @throws CryptaEvaluationException if the solution is partial
+     */
+    public int[] getDigits(final ICryptaSolution solution) throws CryptaEvaluationException {
+        final int[] digits = new int[symbols.length];
+        try {
+            for (int i = 0; i < digits.length; i++) {
+                digits[i] = solution.getDigit(symbols[i]);
+            }
+        } catch (CryptaSolutionException e) {
+            throw new CryptaEvaluationException("Cannot use a partial solution for evaluation", e);
+        }
+        return digits;
+    }
+
+    /**
+     * Evaluate the cryptarithm for a given solution.
+     *
+     * @param solution the solution of the cryptarithm
+     * @return the evaluation of cryptarithm (numeric or logical)
+     * @throws CryptaEvaluationException if the solution is partial or a digit is
+     *                                   invalid
+     */
+    public BigInteger evaluate(final ICryptaSolution solution) throws CryptaEvaluationException {
+        return evaluate(getDigits(solution));
+    }
+
+    /**
+     * Evaluate the cryptarithm for a given digit vector.
+     *
+     * @param digits the digits indexed like the symbols
+     * @return the evaluation of cryptarithm (numeric or logical)
+     * @throws CryptaEvaluationException if the number of digits or a digit is
+     *                                   invalid
+     */
+    public BigInteger evaluate(final int[] digits) throws CryptaEvaluationException {
+        if (digits.length != symbols.length) {
+            throw new CryptaEvaluationException("cannot evaluate because of an invalid number of digits.");
+        }
+        for (int digit : digits) {
+            if ((digit < 0) || (digit >= base)) {
+                throw new CryptaEvaluationException(
+                        "cannot evaluate because of an invalid digit for the evaluation base.");
+            }
+        }
+        try {
+            return BigInteger.valueOf(evaluateLong(digits));
+        } catch (ArithmeticException e) {
+            return evaluateBig(digits);
+        }
+    }
+
+    /**
+     * Checks if the digit vector satisfies the cryptarithm, i.e. its evaluation is
+     * not zero.
+     *
+     * @param digits the digits indexed like the symbols
+     * @return true, if the evaluation is not zero
+     * @throws CryptaEvaluationException if the number of digits or a digit is
+     *                                   invalid
+     */
+    public boolean isSatisfied(final int[] digits) throws CryptaEvaluationException {
+        return evaluate(digits).signum() != 0;
+    }
+
+    private long getWordValue(final int word, final int[] digits) {
+        final int start = wordStarts[word];
+        final int length = wordStarts[word + 1] - start;
+        if (length > powers.length) {
+            throw new ArithmeticException("The word does not fit in a long.");
+        }
+        long v = 0;
+        for (int i = 0; i < length; i++) {
+            v = Math.addExact(v, Math.multiplyExact(digits[wordSlots[start + i]], powers[length - 1 - i]));
+        }
+        return v;
+    }
+
+    private long evaluateLong(final int[] digits) {
+        final long[] stack = new long[maxStackSize];
+        int size = 0;
+        for (int pc = 0; pc < opcodes.length; pc++) {
+            final int opcode = opcodes[pc];
+            if (opcode == PUSH_WORD) {
+                stack[size++] = getWordValue(operands[pc], digits);
+            } else if (opcode == PUSH_CONST) {
+                stack[size++] = constants[operands[pc]].longValueExact();
+            } else {
+                final long b = stack[--size];
+                final long a = stack[--size];
+                stack[size++] = OPERATORS[opcode].applyExact(a, b);
+            }
+        }
+        return stack[0];
+    }
+
+    private BigInteger getBigWordValue(final int word, final int[] digits) {
+        final BigInteger b = BigInteger.valueOf(base);
+        BigInteger v = BigInteger.ZERO;
+        for (int i = wordStarts[word]; i < wordStarts[word + 1]; i++) {
+            v = v.multiply(b).add(BigInteger.valueOf(digits[wordSlots[i]]));
+        }
+        return v;
+    }
+
+    private BigInteger evaluateBig(final int[] digits) {
+        final BigInteger[] stack = new BigInteger[maxStackSize];
+        int size = 0;
+        for (int pc = 0; pc < opcodes.length; pc++) {
+            final int opcode = opcodes[pc];
+            if (opcode == PUSH_WORD) {
+                stack[size++] = getBigWordValue(operands[pc], digits);
+            } else if (opcode == PUSH_CONST) {
+                stack[size++] = constants[operands[pc]];
+            } else {
+                final BigInteger b = stack[--size];
+                final BigInteger a = stack[--size];
+                stack[size++] = OPERATORS[opcode].getFunction().apply(a, b);
+            }
+        }
+        return stack[0];
+    }
+
+    /**
+     * The Class Compiler builds the program in postorder.
+     */
+    private final class Compiler implements ITraversalNodeConsumer {
+
+        private final List<Integer> opcodes = new ArrayList<>();
+
+        private final List<Integer> operands = new ArrayList<>();
+
+        private final List<Integer> wordStarts = new ArrayList<>(List.of(0));
+
+        private final List<Integer> wordSlots = new ArrayList<>();
+
+        private final List<BigInteger> constants = new ArrayList<>();
+
+        private int stackSize;
+
+        private int maxStackSize;
+
+        @Override
+        public void accept(final ICryptaNode node, final int numNode) {
+            if (node.isInternalNode()) {
+                opcodes.add(node.getOperator().ordinal());
+                operands.add(0);
+                stackSize--;
+            } else {
+                if (node.isConstant()) {
+                    opcodes.add(PUSH_CONST);
+                    operands.add(constants.size());
+                    constants.add(new BigInteger(new String(node.getWord())));
+                } else {
+                    opcodes.add(PUSH_WORD);
+                    operands.add(wordStarts.size() - 1);
+                    for (char c : node.getWord()) {
+                        wordSlots.add(Arrays.binarySearch(symbols, c));
+                    }
+                    wordStarts.add(wordSlots.size());
+                }
+                stackSize++;
+                maxStackSize = Math.max(maxStackSize, stackSize);
+            }
+        }
+    }
+
+}
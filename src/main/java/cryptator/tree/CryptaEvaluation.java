@@ -10,6 +10,7 @@ package cryptator.tree;
 
 import java.math.BigInteger;
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Deque;
 
 import cryptator.solver.CryptaSolutionException;
@@ -20,14 +21,126 @@ import cryptator.specs.ITraversalNodeConsumer;
 
 public class CryptaEvaluation implements ICryptaEvaluation {
 
+    /**
+     * Evaluate with long values, and then with big integers if an overflow
+     * occurs.
+     */
     @Override
     public BigInteger evaluate(final ICryptaNode cryptarithm, final ICryptaSolution solution, final int base)
             throws CryptaEvaluationException {
+        final LongEvaluationConsumer longNodeConsumer = new LongEvaluationConsumer(solution, base);
+        TreeTraversals.postorderTraversal(cryptarithm, longNodeConsumer);
+        if (!longNodeConsumer.hasOverflow()) {
+            return BigInteger.valueOf(longNodeConsumer.eval());
+        }
         final EvaluationConsumer evaluationNodeConsumer = new EvaluationConsumer(solution, base);
         TreeTraversals.postorderTraversal(cryptarithm, evaluationNodeConsumer);
         return evaluationNodeConsumer.eval();
     }
 
+    private static CryptaEvaluationException invalidDigitException() {
+        return new CryptaEvaluationException("cannot evaluate because of an invalid digit for the evaluation base.");
+    }
+
+    private static CryptaEvaluationException partialSolutionException(final CryptaSolutionException e) {
+        return new CryptaEvaluationException("Cannot use a partial solution for evaluation", e);
+    }
+
+    /**
+     * The Class LongEvaluationConsumer evaluates on a stack of long values. An
+     * overflow, or any other arithmetic exception, stops the evaluation that must
+     * be done again with big integers.
+     */
+    private static class LongEvaluationConsumer implements ITraversalNodeConsumer {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final ICryptaSolution solution;
+
+        private final int base;
+
+        private long[] stack = new long[INITIAL_CAPACITY];
+
+        private int size;
+
+        private boolean overflow;
+
+        private CryptaEvaluationException exception;
+
+        LongEvaluationConsumer(final ICryptaSolution solution, final int base) {
+            super();
+            this.solution = solution;
+            this.base = base;
+        }
+
+        private void push(final long v) {
+            if (size == stack.length) {
+                stack = Arrays.copyOf(stack, 2 * size);
+            }
+            stack[size++] = v;
+        }
+
+        private long getWordValue(final ICryptaNode node) throws CryptaEvaluationException {
+            try {
+                long v = 0;
+                for (char c : node.getWord()) {
+                    final int digit = solution.getDigit(c);
+                    if ((digit < 0) || (digit >= base)) {
+                        throw invalidDigitException();
+                    }
+                    v = Math.addExact(Math.multiplyExact(v, base), digit);
+                }
+                return v;
+            } catch (CryptaSolutionException e) {
+                throw partialSolutionException(e);
+            }
+        }
+
+        private long getConstValue(final ICryptaNode node) {
+            try {
+                return Long.parseLong(new String(node.getWord()));
+            } catch (NumberFormatException e) {
+                throw new ArithmeticException("The constant does not fit in a long.");
+            }
+        }
+
+        @Override
+        public void accept(final ICryptaNode node, final int numNode) {
+            // Check for the exception because it cannot be thrown here.
+            if (exception == null && !overflow) {
+                try {
+                    if (node.isInternalNode()) {
+                        final long b = stack[--size];
+                        final long a = stack[--size];
+                        push(node.getOperator().applyExact(a, b));
+                    } else if (node.isConstant()) {
+                        push(getConstValue(node));
+                    } else {
+                        push(getWordValue(node));
+                    }
+                } catch (ArithmeticException e) {
+                    overflow = true;
+                } catch (CryptaEvaluationException e) {
+                    exception = e;
+                }
+            }
+        }
+
+        public boolean hasOverflow() {
+            return overflow;
+        }
+
+        public long eval() throws CryptaEvaluationException {
+            if (exception != null) {
+                throw exception;
+            }
+            if (size != 1) {
+                throw new CryptaEvaluationException("Invalid stack size at the end of evaluation.");
+            }
+            return stack[0];
+        }
+    }
+
     private static class EvaluationConsumer implements ITraversalNodeConsumer {
 
         private final ICryptaSolution solution;
@@ -51,14 +164,13 @@ public class CryptaEvaluation implements ICryptaEvaluation {
                 for (char c : node.getWord()) {
                     final int digit = solution.getDigit(c);
                     if ((digit < 0) || (digit >= base)) {
-                        throw new CryptaEvaluationException(
-                                "cannot evaluate because of an invalid digit for the evaluation base.");
+                        throw invalidDigitException();
                     }
                     v = v.multiply(b).add(BigInteger.valueOf(digit));
                 }
                 return v;
             } catch (CryptaSolutionException e) {
-                throw new CryptaEvaluationException("Cannot use a partial solution for evaluation", e);
+                throw partialSolutionException(e);
             }
         }
 
@@ -95,7 +207,7 @@ public class CryptaEvaluation implements ICryptaEvaluation {
             if (stack.size() != 1) {
                 throw new CryptaEvaluationException("Invalid stack size at the end of evaluation.");
             }
-            return new BigInteger(stack.peek().toString());
+            return stack.peek();
         }
     }
 
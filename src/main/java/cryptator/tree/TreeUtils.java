@@ -146,6 +146,13 @@ public final class TreeUtils {
         return detect;
     }
 
+    public static CryptaOperatorDetection computeUnsupportedColumnOperator(final ICryptaNode cryptarithm) {
+        final CryptaOperatorDetection detect = new CryptaOperatorDetection(CryptaOperator.ID, CryptaOperator.ADD,
+                CryptaOperator.SUB, CryptaOperator.EQ, CryptaOperator.AND);
+        TreeTraversals.preorderTraversal(cryptarithm, detect);
+        return detect;
+    }
+
     public static char[] computeSymbols(final ICryptaNode cryptarithm) {
         final CryptaSymbols sym = new CryptaSymbols();
         TreeTraversals.preorderTraversal(cryptarithm, sym);
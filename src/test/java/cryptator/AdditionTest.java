@@ -0,0 +1,146 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import cryptator.parser.CryptaParserException;
+import cryptator.solver.CryptaAdditionSolver;
+import cryptator.solver.CryptaModelException;
+import cryptator.solver.CryptaSolverException;
+
+public class AdditionTest {
+
+    private final CryptaSolvingTester t = new CryptaSolvingTester(new CryptaAdditionSolver());
+
+    private final CryptaSolvingTester cp = new CryptaSolvingTester(false);
+
+    public AdditionTest() {
+    }
+
+    @BeforeClass
+    public static void configureTestLoggers() {
+        JULogUtil.configureTestLoggers();
+    }
+
+    @Before
+    public void setDefaultConfig() {
+        t.reset();
+        cp.reset();
+    }
+
+    private void testSameCount(final String cryptarithm) throws CryptaModelException, CryptaSolverException {
+        cp.config = t.config;
+        assertEquals(cryptarithm, cp.testSolve(cryptarithm, true), t.testSolve(cryptarithm, true));
+    }
+
+    @Test
+    public void testSendMoreMoney1() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("send+more=money");
+    }
+
+    @Test
+    public void testSendMoreMoney2() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.config.setArithmeticBase(16);
+        t.solver.limitSolution(100);
+        t.testSAT("send+more=money");
+    }
+
+    @Test
+    public void testSendMoreMoney3() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.config.setAllowLeadingZeros(true);
+        testSameCount("send+more=money");
+    }
+
+    @Test
+    public void testBigCatLion() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        testSameCount("big + cat = lion");
+        t.solver.limitSolution(5);
+        t.testSAT("big + cat = lion", 5);
+    }
+
+    @Test
+    public void testBigCatBig() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNSAT("big + cat = big");
+    }
+
+    @Test
+    public void testDonaldGeraldRobert() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("donald + gerald = robert");
+        t.config.setArithmeticBase(2);
+        t.testUNSAT("donald + gerald = robert");
+    }
+
+    @Test
+    public void testSumMembers() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        testSameCount("aa+b=cd");
+        testSameCount("ab+cd=ef+gh");
+    }
+
+    @Test
+    public void testDigitOccurences() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.config.setArithmeticBase(2);
+        t.testUNIQUE("a + a = bc");
+        t.testUNIQUE("aaaaa + ab = abbbba");
+    }
+
+    @Test
+    public void testConstants() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("W='4'");
+        t.config.setArithmeticBase(40);
+        t.testUNIQUE("r='36'");
+        t.config.setArithmeticBase(16);
+        t.testUNIQUE("1AB52='109394'");
+    }
+
+    @Test
+    public void testBarker() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("oregon+georgia+indiana=arizona", "carter+reagan+lincoln=clinton",
+                "pear+plum+apple+grape+lemon=orange");
+    }
+
+    @Test
+    public void testGraham() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.config.setArithmeticBase(11);
+        t.testUNIQUE("UNITED + STATES = AMERICA");
+    }
+
+    @Test
+    public void testLongWords() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("ARISTOCRATIC + PRESCRIPTION + PROSOPOPOEIA + PROTECTORATE = TRANSOCEANIC");
+        t.config.setArithmeticBase(2);
+        t.testUNIQUE("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaa + a = abbbbbbbbbbbbbbbbbbbbbbbbbbbbbb");
+    }
+
+    @Test
+    public void testAssignTalos() throws CryptaParserException, CryptaSolverException, CryptaModelException {
+        t.config.setAssignments(Map.of("a", "1", "e", "3"));
+        t.testUNIQUE("alpos + les + otos = talos");
+        t.config.setAssignments(Map.of("a", "2", "e", "3"));
+        t.testUNSAT("alpos + les + otos = talos");
+    }
+
+    @Test(expected = CryptaModelException.class)
+    public void testInvalidAssign() throws CryptaParserException, CryptaSolverException, CryptaModelException {
+        t.config.setAssignments(Map.of("z", "1"));
+        t.testUNIQUE("alpos + les + otos = talos");
+    }
+
+    @Test(expected = CryptaModelException.class)
+    public void testUnsupportedOperator() throws CryptaParserException, CryptaSolverException, CryptaModelException {
+        t.testUNIQUE("cinq*six=trente");
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import cryptator.parser.CryptaParserException;
+import cryptator.solver.CryptaColumnModeler;
+import cryptator.solver.CryptaModelException;
+import cryptator.solver.CryptaSolver;
+import cryptator.solver.CryptaSolverException;
+
+public class ColumnTest {
+
+    private final CryptaSolvingTester t = new CryptaSolvingTester(new CryptaSolver(new CryptaColumnModeler()));
+
+    public ColumnTest() {
+    }
+
+    @BeforeClass
+    public static void configureTestLoggers() {
+        JULogUtil.configureTestLoggers();
+    }
+
+    @Before
+    public void setDefaultConfig() {
+        t.reset();
+    }
+
+    @Test
+    public void testSendMoreMoney() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("send+more=money", "money = send + more", "money - more = send", " -send -more= -money");
+    }
+
+    @Test
+    public void testBigCatLion() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.solver.limitSolution(5);
+        t.testSAT("big + cat = lion", 5);
+        t.solver.limitSolution(0);
+        t.testUNSAT("big + cat = big");
+    }
+
+    @Test
+    public void testBigNum1() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("ARISTOCRATIC + PRESCRIPTION + PROSOPOPOEIA + PROTECTORATE = TRANSOCEANIC");
+    }
+
+    @Test
+    public void testBigNum2() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("NARRAGANSETT + NONOGENARIAN + OSTEOPOROSIS + PROPORTIONATE + TRANSPOSITION = RETROGRESSION");
+    }
+
+    @Test
+    public void testBase() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.config.setArithmeticBase(2);
+        t.testUNIQUE("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaa + a = abbbbbbbbbbbbbbbbbbbbbbbbbbbbbb");
+        t.testUNSAT("donald + gerald = robert");
+        t.config.setArithmeticBase(11);
+        t.testUNIQUE("UNITED + STATES = AMERICA");
+    }
+
+    @Test
+    public void testConstants() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.config.setArithmeticBase(40);
+        t.testUNIQUE("r='36'");
+        t.config.setArithmeticBase(16);
+        t.testUNIQUE("1AB52='109394'");
+    }
+
+    @Test
+    public void testConjunctions() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("send+more=money; -send -more= -money");
+        t.testNotUNIQUE("send+more=money; a+b=c");
+        t.testUNSAT("send+more=money; s+e=n");
+    }
+
+    @Test
+    public void testCancelledSymbols() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.config.setArithmeticBase(3);
+        t.testSAT("a + b = a + b", 2);
+    }
+
+    @Test(expected = CryptaModelException.class)
+    public void testUnsupportedOperator() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("cinq*six=trente");
+    }
+}
@@ -9,6 +9,9 @@
 package cryptator;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.stream.IntStream;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -59,4 +62,22 @@ public class CrossModelTest {
         testHeavyCrosswordModel(3, words, 5040);
     }
 
+    @Test
+    public void testHeavyCrosswordN4W16() {
+        final String[] words = new String[] {"a", "b", "c", "d", "ee", "ff", "gg", "hhhh", "iiiii", "jjjjjj",
+                "kkkkkkk", "llllllll", "mmmmmmmm", "nnnnnnnnn", "ooooooooo", "pppppppppp"};
+        testHeavyCrosswordModel(4, words, 11136);
+    }
+
+    @Test
+    public void testCrosswordN5W120() {
+        final String[] words = IntStream.range(0, 120)
+                .mapToObj(i -> "" + (char) ('a' + i % 26) + (char) ('a' + i / 26) + (i < 100 ? "s" : "xs"))
+                .toArray(String[]::new);
+        final CryptaGenCrossword m = new CryptaGenCrossword(5, words);
+        m.buildModel();
+        m.postHeavyConstraints(10);
+        assertTrue(m.getModel().getSolver().solve());
+    }
+
 }
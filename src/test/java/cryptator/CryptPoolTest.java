@@ -0,0 +1,105 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import cryptator.solver.crypt.CryptPool;
+
+public class CryptPoolTest {
+
+    private static final String STATS = "1 solution(s), 0 msec.";
+
+    private static final String REQUEST = "send + more = money\n";
+
+    private File command;
+
+    @Before
+    public void setUp() throws IOException {
+        Assume.assumeTrue(new File("/bin/sh").canExecute());
+        // The stub of the crypt command answers a request by its process id.
+        command = File.createTempFile("crypt", ".sh");
+        Files.writeString(command.toPath(), String.join("\n", //
+                "#!/bin/sh", //
+                "while read -r line; do", //
+                "  case \"$line\" in", //
+                "    limit*) ;;", //
+                "    crash) exit 1 ;;", //
+                "    sleep) exec sleep 60 ;;", //
+                "    *) echo \"$$\"; echo \"" + STATS + "\" ;;", //
+                "  esac", //
+                "done", ""));
+        Assume.assumeTrue(command.setExecutable(true));
+    }
+
+    @After
+    public void tearDown() {
+        if (command != null) {
+            command.delete();
+        }
+    }
+
+    private static String exec(final CryptPool pool, final String request, final long timeout)
+            throws IOException, InterruptedException, TimeoutException {
+        final List<String> lines = new ArrayList<>();
+        pool.exec(request.getBytes(), lines::add, timeout);
+        assertEquals(2, lines.size());
+        assertEquals(STATS, lines.get(1));
+        return lines.get(0);
+    }
+
+    @Test
+    public void testReuse() throws IOException, InterruptedException, TimeoutException {
+        try (CryptPool pool = new CryptPool(command.getPath(), 1)) {
+            final String pid = exec(pool, REQUEST, 0);
+            assertEquals(pid, exec(pool, "limit 2\n" + REQUEST, 0));
+            assertEquals(pid, exec(pool, REQUEST, 10000));
+        }
+    }
+
+    @Test
+    public void testRestartAfterCrash() throws IOException, InterruptedException, TimeoutException {
+        try (CryptPool pool = new CryptPool(command.getPath(), 1)) {
+            final String pid = exec(pool, REQUEST, 0);
+            assertThrows(IOException.class, () -> exec(pool, "crash\n", 0));
+            assertNotEquals(pid, exec(pool, REQUEST, 0));
+        }
+    }
+
+    @Test
+    public void testTimeout() throws IOException, InterruptedException, TimeoutException {
+        try (CryptPool pool = new CryptPool(command.getPath(), 1)) {
+            final String pid = exec(pool, REQUEST, 0);
+            assertThrows(TimeoutException.class, () -> exec(pool, "sleep\n", 200));
+            assertNotEquals(pid, exec(pool, REQUEST, 0));
+        }
+    }
+
+    @Test
+    public void testSize() {
+        try (CryptPool pool = new CryptPool(command.getPath(), 3)) {
+            assertEquals(3, pool.size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new CryptPool(command.getPath(), 0));
+    }
+}
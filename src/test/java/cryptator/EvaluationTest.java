@@ -8,6 +8,7 @@
  */
 package cryptator;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -22,14 +23,17 @@ import cryptator.config.CryptaConfig;
 import cryptator.parser.CryptaParserException;
 import cryptator.parser.CryptaParserWrapper;
 import cryptator.solver.CryptaModelException;
+import cryptator.solver.CryptaSolutionArray;
 import cryptator.solver.CryptaSolutionException;
 import cryptator.solver.CryptaSolutionMap;
 import cryptator.solver.CryptaSolver;
 import cryptator.solver.CryptaSolverException;
+import cryptator.solver.CryptaSymbolTable;
 import cryptator.specs.ICryptaEvaluation;
 import cryptator.specs.ICryptaNode;
 import cryptator.specs.ICryptaSolution;
 import cryptator.specs.ICryptaSolver;
+import cryptator.tree.CompiledCryptarithm;
 import cryptator.tree.CryptaEvaluation;
 import cryptator.tree.CryptaEvaluationException;
 import cryptator.tree.CryptaLeaf;
@@ -83,6 +87,27 @@ public class EvaluationTest {
         s.getDigit('F');
     }
 
+    @Test
+    public void testSolutionArray() throws CryptaSolutionException {
+        final CryptaSymbolTable table = new CryptaSymbolTable(new char[] {'S', 'E', 'N', 'D', 'E'});
+        assertEquals(4, table.size());
+        assertEquals(-1, table.indexOf('M'));
+        final ICryptaSolution s = new CryptaSolutionArray(table, new int[] {7, 5, -1, 9});
+        assertEquals(3, s.size());
+        assertEquals(9, s.getDigit('S'));
+        assertEquals(7, s.getDigit('D'));
+        assertFalse(s.hasDigit('N'));
+        assertEquals(-1, s.getDigit('N', -1));
+        assertEquals("?", s.getDomain('M'));
+        assertEquals(CryptaSolutionMap.parseSolution("S=9 E=5 D=7").toString(), s.toString());
+    }
+
+    @Test(expected = CryptaSolutionException.class)
+    public void testSolutionArrayException() throws CryptaSolutionException {
+        final CryptaSymbolTable table = new CryptaSymbolTable(new char[] {'a', '\uE000'});
+        new CryptaSolutionArray(table, new int[] {1, 2}).getDigit('b');
+    }
+
     @Test(expected = CryptaSolutionException.class)
     public void testInvalidSolutionParser1() throws CryptaSolutionException {
         CryptaSolutionMap.parseSolution("AB 1");
@@ -258,6 +283,81 @@ public class EvaluationTest {
         assertTrueEval(cryptarithm, solution, 10);
     }
 
+    @Test
+    public void testLongOverflow1() throws CryptaParserException, CryptaSolutionException, CryptaEvaluationException {
+        final ICryptaNode cryptarithm = parser.parse("'9223372036854775807' + A = '9223372036854775808'");
+        final ICryptaSolution solution = CryptaSolutionMap.parseSolution("A = 1");
+        assertTrueEval(cryptarithm, solution, 10);
+    }
+
+    @Test
+    public void testLongOverflow2() throws CryptaParserException, CryptaSolutionException, CryptaEvaluationException {
+        final ICryptaNode cryptarithm = parser
+                .parse("A ^ '64' = '18446744073709551616'; A ^ '62' < '9223372036854775807'");
+        final ICryptaSolution solution = CryptaSolutionMap.parseSolution("A = 2");
+        assertTrueEval(cryptarithm, solution, 10);
+    }
+
+    @Test
+    public void testLongOverflow3() throws CryptaParserException, CryptaSolutionException, CryptaEvaluationException {
+        final ICryptaNode cryptarithm = parser.parse("AAAAAAAAAAAAAAAAAAAA * A = B");
+        final ICryptaSolution solution = CryptaSolutionMap.parseSolution("A = 9 B = 1");
+        assertFalseEval(cryptarithm, solution, 10);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testDivisionByZero() throws CryptaParserException, CryptaSolutionException, CryptaEvaluationException {
+        final ICryptaNode cryptarithm = parser.parse("A // B = C");
+        eval.evaluate(cryptarithm, CryptaSolutionMap.parseSolution("A = 1 B = 0 C = 2"), 10);
+    }
+
+    private void assertCompiledEval(final String cryptarithm, final String solution, final int base)
+            throws CryptaParserException, CryptaSolutionException, CryptaEvaluationException {
+        final ICryptaNode node = parser.parse(cryptarithm);
+        final ICryptaSolution s = CryptaSolutionMap.parseSolution(solution);
+        final CompiledCryptarithm compiled = new CompiledCryptarithm(node, base);
+        assertEquals(eval.evaluate(node, s, base), compiled.evaluate(s));
+    }
+
+    @Test
+    public void testCompiledEval1() throws CryptaParserException, CryptaSolutionException, CryptaEvaluationException {
+        assertCompiledEval("SEND+MORE=MONEY", "O = 0 M = 1 Y = 2 E = 5 N = 6 D = 7 R = 8 S = 9", 10);
+        assertCompiledEval("SEND+MORE=MONEY", "O = 0 M = 1 Y = 2 E = 5 N = 6 D = 7 R = 9 S = 8", 10);
+        assertCompiledEval("BAB + BA = BBB", "A = 0 B = 1", 2);
+        assertCompiledEval("3 * MOT = TOM - 1", "M = 2 O = 5 T = 7", 10);
+        assertCompiledEval("A%B=C", "A = 7 B = 3 C = 1", 10);
+        assertCompiledEval("aa+b=cd;a*a=a", "a = 1 b = 9 c = 2 d = 0", 10);
+    }
+
+    @Test
+    public void testCompiledEval2() throws CryptaParserException, CryptaSolutionException, CryptaEvaluationException {
+        assertCompiledEval("'9223372036854775807' + A = '9223372036854775808'", "A = 1", 10);
+        assertCompiledEval("AAAAAAAAAAAAAAAAAAAA * A = B", "A = 9 B = 1", 10);
+        assertCompiledEval("AAAAAAAAAAAAAAAAAAAAAAAAA + BBBBBBBBBBBBBBBBBBBBBBBBB = CCCCCCCCCCCCCCCCCCCCCCCCC",
+                "A = 1 B = 2 C = 3", 10);
+    }
+
+    @Test
+    public void testCompiledDigits() throws CryptaParserException, CryptaEvaluationException {
+        final CompiledCryptarithm compiled = new CompiledCryptarithm(parser.parse("SEND+MORE=MONEY"), 10);
+        assertArrayEquals(new char[] {'D', 'E', 'M', 'N', 'O', 'R', 'S', 'Y'}, compiled.getSymbols());
+        assertTrue(compiled.isSatisfied(new int[] {7, 5, 1, 6, 0, 8, 9, 2}));
+        assertFalse(compiled.isSatisfied(new int[] {7, 5, 1, 6, 0, 9, 8, 2}));
+    }
+
+    @Test(expected = CryptaEvaluationException.class)
+    public void testCompiledInvalidDigit() throws CryptaParserException, CryptaEvaluationException {
+        final CompiledCryptarithm compiled = new CompiledCryptarithm(parser.parse("BAB + BA = BBB"), 2);
+        compiled.evaluate(new int[] {0, 2});
+    }
+
+    @Test(expected = CryptaEvaluationException.class)
+    public void testCompiledPartialSolution()
+            throws CryptaParserException, CryptaSolutionException, CryptaEvaluationException {
+        final CompiledCryptarithm compiled = new CompiledCryptarithm(parser.parse("SEND+MORE=MONEY"), 10);
+        compiled.evaluate(CryptaSolutionMap.parseSolution("O = 0 M = 1 Y = 2 E = 5"));
+    }
+
     // Start AND tests (the and is represented by the ";" symbol).
     @Test
     public void testEvaluationAnd1() throws CryptaParserException, CryptaSolutionException, CryptaEvaluationException {
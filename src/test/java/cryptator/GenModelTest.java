@@ -15,6 +15,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import cryptator.gen.AbstractCryptaListModel;
+import cryptator.gen.CryptaGenAdd;
 import cryptator.gen.member.CryptaMemberElt;
 import cryptator.gen.member.CryptaMemberLen;
 import cryptator.specs.ICryptaGenModel;
@@ -112,6 +113,49 @@ public class GenModelTest {
         testGenModel(m, 8);
     }
 
+    @Test
+    public void testWordListModelSymbolCount() {
+        MockWordListModel m = new MockWordListModel(new Model(), words);
+        m.buildModel();
+        m.getSymbolCount().eq(1).post();
+        postMaxWordCountConstraint(m, 2);
+        testGenModel(m, 7);
+    }
+
+    private long countGenAdd(final boolean withColumns) {
+        final CryptaGenAdd m = new CryptaGenAdd(new String[] {"ab", "ba", "abc", "cab", "b", "ca", "d"}, true);
+        m.buildModel();
+        m.postWordCountConstraints(3);
+        if (withColumns) {
+            m.postColumnConstraints(10);
+        }
+        return m.getSolver().streamSolutions().count();
+    }
+
+    @Test
+    public void testGenAddColumns() {
+        assertEquals(48, countGenAdd(false));
+        assertEquals(32, countGenAdd(true));
+    }
+
+    private long countGenAddLastColumn(final boolean withColumns) {
+        final CryptaGenAdd m = new CryptaGenAdd(new String[] {"dc", "ea", "fd", "eg", "abc"}, true);
+        m.buildModel();
+        m.postWordCountConstraints(3);
+        m.postFixedRightMemberConstraints();
+        if (withColumns) {
+            m.postColumnConstraints(10);
+        }
+        return m.getSolver().streamSolutions().count();
+    }
+
+    @Test
+    public void testGenAddLastColumn() {
+        // dc ends like abc, so the other left word ends with a zero: neither ea nor fd.
+        assertEquals(6, countGenAddLastColumn(false));
+        assertEquals(4, countGenAddLastColumn(true));
+    }
+
     @Test
     public void testMemberElt() {
         CryptaMemberElt m = new CryptaMemberElt(new Model(), words, "");
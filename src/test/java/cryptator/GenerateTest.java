@@ -9,22 +9,55 @@
 package cryptator;
 
 import static org.junit.Assert.assertEquals;
-
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import cryptator.cmd.CryptaBiConsumer;
 import cryptator.cmd.WordArray;
 import cryptator.config.CryptaCmdConfig.SolverType;
 import cryptator.config.CryptagenConfig;
+import cryptator.config.CryptagenConfig.CandidateFilter;
 import cryptator.config.CryptagenConfig.GenerateType;
 import cryptator.config.CryptagenConfig.RightMemberType;
+import cryptator.gen.CryptaCandidateFilters;
 import cryptator.gen.CryptaListGenerator;
+import cryptator.gen.CryptaPattern;
+import cryptator.gen.CryptaPatternCache;
+import cryptator.gen.CryptaWordIndex;
+import cryptator.gen.GeneratedCryptarithm;
+import cryptator.json.GenerateCheckpoint;
+import cryptator.parser.CryptaParserWrapper;
 import cryptator.solver.CryptaModelException;
+import cryptator.solver.CryptaSolutionException;
+import cryptator.solver.CryptaSolutionMap;
+import cryptator.specs.ICryptaGenerator;
+import cryptator.specs.ICryptaNode;
+import cryptator.specs.ICryptaSolution;
 
 public class GenerateTest {
 
@@ -44,6 +77,17 @@ public class GenerateTest {
         config.setSolverType(SolverType.SCALAR);
         config.setRightMemberType(RightMemberType.UNIQUE);
         config.setGenerateType(GenerateType.ADD);
+        config.setNthreads(1);
+        config.setGenThreads(1);
+        config.setVirtualThreads(false);
+        config.setPatternCacheCapacity(1024);
+        for (CandidateFilter filter : CandidateFilter.values()) {
+            config.setFilterEnabled(filter, true);
+        }
+        config.setCheckpointFile(null);
+        config.setResume(false);
+        config.setDryRun(false);
+        config.setCheckSolution(false);
     }
 
     private void testGenerate(final int expectedSolCount, final OptionalInt expectedCandCount,
@@ -151,6 +195,411 @@ public class GenerateTest {
         testGenerate(3, new WordArray("IT", "it", 20, 30), 0);
     }
 
+    @Test
+    public void testParallel1() throws CryptaModelException {
+        config.setNthreads(4);
+        config.setLightModel(true);
+        testGenerate(1, OptionalInt.of(6), new WordArray("send", "much", "more", "money"));
+    }
+
+    @Test
+    public void testParallel2() throws CryptaModelException {
+        config.setNthreads(3);
+        testGenerate(3, new WordArray("IT", "it", 20, 30), 0);
+        config.setSolverType(SolverType.BIGNUM);
+        testGenerate(3, new WordArray("IT", "it", 20, 30), 0);
+    }
+
+    @Test
+    public void testPattern() throws CryptaSolutionException {
+        final CryptaParserWrapper parser = new CryptaParserWrapper();
+        final CryptaPattern p1 = new CryptaPattern(parser.parse("send+more=money"));
+        final CryptaPattern p2 = new CryptaPattern(parser.parse("abcd+efgb=efcbh"));
+        assertEquals(p1.getKey(), p2.getKey());
+        assertNotEquals(p1.getKey(), new CryptaPattern(parser.parse("send+more=monkey")).getKey());
+        assertNotEquals(p1.getKey(), new CryptaPattern(parser.parse("send*more=money")).getKey());
+
+        final ICryptaSolution s1 = CryptaSolutionMap.parseSolution("O=0 M=1 Y=2 E=5 N=6 D=7 R=8 S=9".toLowerCase());
+        final ICryptaSolution s2 = p2.fromCanonical(p1.toCanonical(s1));
+        assertEquals(9, s2.getDigit('a'));
+        assertEquals(1, s2.getDigit('e'));
+        assertEquals(2, s2.getDigit('h'));
+    }
+
+    @Test
+    public void testPatternCache() throws CryptaSolutionException {
+        final CryptaParserWrapper parser = new CryptaParserWrapper();
+        final CryptaPatternCache cache = new CryptaPatternCache(2);
+        final CryptaPattern p1 = new CryptaPattern(parser.parse("a+b=c"));
+        final CryptaPattern p2 = new CryptaPattern(parser.parse("a+a=b"));
+        final CryptaPattern p3 = new CryptaPattern(parser.parse("a+b=cd"));
+        assertNull(cache.get(p1));
+        cache.put(p1, Optional.empty());
+        cache.put(p2, Optional.of(new int[] {1, 2}));
+        assertTrue(cache.get(p1).isEmpty());
+        cache.put(p3, Optional.empty());
+        // The least recently used outcome is evicted.
+        assertNull(cache.get(p2));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    private int generateCount(final WordArray words) throws CryptaModelException {
+        final CryptaListGenerator gen = new CryptaListGenerator(words, config, Cryptagen.LOGGER);
+        final CryptaBiConsumer cons = new CryptaBiConsumer(Cryptagen.LOGGER);
+        gen.generate(cons);
+        return cons.getSolutionCount();
+    }
+
+    @Test
+    public void testPatternGenerate() throws CryptaModelException {
+        // Many candidates are isomorphic.
+        final WordArray words = new WordArray("ab", "ba", "ac", "ca", "bc", "cb", "abc", "bca", "cab");
+        config.setPatternCacheCapacity(0);
+        final int expected = generateCount(words);
+        config.setPatternCacheCapacity(16);
+        assertEquals(expected, generateCount(words));
+        config.setPatternCacheCapacity(1);
+        assertEquals(expected, generateCount(words));
+        // The solutions of the cached candidates are checked.
+        config.setPatternCacheCapacity(16);
+        config.setCheckSolution(true);
+        assertEquals(expected, generateCount(words));
+    }
+
+    @Test
+    public void testWordIndex() {
+        final CryptaWordIndex index = new CryptaWordIndex(
+                new String[] {"send", "more", "money", "abcdefghijk", "xyzxyzxyzxyzxyz"});
+        assertEquals(List.of(0, 1), index.getWordsByLength().get(4));
+        assertEquals(List.of(3), index.getWordsBySymbolCount().get(11));
+        assertEquals(BitSet.valueOf(new long[] {0b111}), index.computeCandidateWords(config));
+        config.setGenerateType(GenerateType.MUL);
+        assertTrue(new CryptaWordIndex(new String[] {"a", "bb", "cccccc"}).computeCandidateWords(config).isEmpty());
+        config.setRightMemberType(RightMemberType.FIXED);
+        assertEquals(BitSet.valueOf(new long[] {0b101}),
+                new CryptaWordIndex(new String[] {"ab", "abcd", "abc"}).computeCandidateWords(config));
+    }
+
+    @Test
+    public void testWordIndexGenerate() throws CryptaModelException {
+        final int expected = generateCount(new WordArray("venus", "earth", "uranus", "saturn"));
+        assertEquals(expected,
+                generateCount(new WordArray("venus", "earth", "uranus", "abcdefghijk", "saturn", "xyzxyzxyzxyzxyz")));
+        // The index keeps no word, so there is no candidate.
+        config.setGenerateType(GenerateType.MUL);
+        config.setLightModel(true);
+        testGenerate(0, OptionalInt.of(0), new WordArray("a", "bb", "cccccc"));
+    }
+
+    @Test
+    public void testFilters() {
+        final CryptaParserWrapper parser = new CryptaParserWrapper();
+        final CryptaCandidateFilters filters = new CryptaCandidateFilters(config);
+        assertTrue(filters.test(parser.parse("send+more=money")));
+        assertTrue(filters.test(parser.parse("a+b=c")));
+        assertTrue(filters.test(parser.parse("a*b=c")));
+        assertFalse(filters.test(parser.parse("abc=de")));
+        assertFalse(filters.test(parser.parse("a+b+c=def")));
+        assertEquals(2, filters.getRejectionCount(CandidateFilter.LENGTH));
+        // The last digit of b must be zero, but b is a leading symbol.
+        assertFalse(filters.test(parser.parse("b+ab=cb")));
+        assertFalse(filters.test(parser.parse("a+b=c && b+ab=cb")));
+        assertEquals(2, filters.getRejectionCount(CandidateFilter.COLUMN));
+        config.setFilterEnabled(CandidateFilter.COLUMN, false);
+        assertTrue(new CryptaCandidateFilters(config).test(parser.parse("b+ab=cb")));
+    }
+
+    @Test
+    public void testFiltersGenerate() throws CryptaModelException {
+        final WordArray words = new WordArray("venus", "earth", "uranus", "saturn", "mars", "pluto");
+        final int expected = generateCount(words);
+        for (CandidateFilter filter : CandidateFilter.values()) {
+            config.setFilterEnabled(filter, false);
+        }
+        assertEquals(expected, generateCount(words));
+    }
+
+    @Test
+    public void testColumnGenerate() throws CryptaModelException {
+        // The column constraints only remove candidates without solution.
+        final WordArray words = new WordArray("send", "more", "money", "venus", "earth", "saturn", "uranus", "mars");
+        config.setLightModel(true);
+        final int expected = generateCount(words);
+        config.setLightModel(false);
+        assertEquals(expected, generateCount(words));
+    }
+
+    private long candidateCount(final WordArray words) throws CryptaModelException {
+        final CryptaListGenerator gen = new CryptaListGenerator(words, config, Cryptagen.LOGGER);
+        return gen.generate(new CryptaBiConsumer(Cryptagen.LOGGER));
+    }
+
+    /**
+     * The Class PausedGenerator waits for the stop after each cryptarithm, so its
+     * generation cannot end before the stop. It records the number of candidates.
+     */
+    private static final class PausedGenerator implements ICryptaGenerator {
+
+        private final ICryptaGenerator generator;
+
+        private final CountDownLatch stopped = new CountDownLatch(1);
+
+        private final CompletableFuture<Long> candidateCount = new CompletableFuture<>();
+
+        PausedGenerator(final ICryptaGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public long generate(final BiConsumer<ICryptaNode, ICryptaSolution> consumer) throws CryptaModelException {
+            final long count = generator.generate((cryptarithm, solution) -> {
+                consumer.accept(cryptarithm, solution);
+                try {
+                    stopped.await(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            candidateCount.complete(count);
+            return count;
+        }
+
+        @Override
+        public void stop() {
+            generator.stop();
+            stopped.countDown();
+        }
+
+        long getCandidateCount() throws InterruptedException, ExecutionException, TimeoutException {
+            return candidateCount.get(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private long streamCount(final WordArray words, final long limit) {
+        final CryptaListGenerator gen = new CryptaListGenerator(words, config, Cryptagen.LOGGER);
+        try (Stream<GeneratedCryptarithm> stream = gen.stream()) {
+            return stream.limit(limit).count();
+        }
+    }
+
+    @Test
+    public void testStreamGenerate() throws CryptaModelException {
+        final WordArray words = new WordArray("send", "more", "money", "venus", "earth", "saturn", "uranus");
+        final int expected = generateCount(words);
+        assertTrue(expected > 1);
+        assertEquals(expected, streamCount(words, Long.MAX_VALUE));
+        assertEquals(1, streamCount(words, 1));
+        config.setNthreads(2);
+        assertEquals(expected, streamCount(words, Long.MAX_VALUE));
+        assertEquals(1, streamCount(words, 1));
+    }
+
+    @Test
+    public void testStreamStop()
+            throws CryptaModelException, InterruptedException, ExecutionException, TimeoutException {
+        final WordArray words = new WordArray("send", "more", "money", "venus", "earth", "saturn", "uranus");
+        assertTrue(generateCount(words) > 1);
+        final PausedGenerator gen = new PausedGenerator(new CryptaListGenerator(words, config, Cryptagen.LOGGER));
+        try (Stream<GeneratedCryptarithm> stream = gen.stream()) {
+            assertEquals(1, stream.limit(1).count());
+        }
+        // The search stops after the first cryptarithm, before the other ones.
+        assertTrue(gen.getCandidateCount() < candidateCount(words));
+    }
+
+    /**
+     * The Class CountSubscriber requests the cryptarithms one by one, and cancels
+     * the subscription after a number of cryptarithms.
+     */
+    private static final class CountSubscriber implements Flow.Subscriber<GeneratedCryptarithm> {
+
+        private final int limit;
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private Flow.Subscription subscription;
+
+        CountSubscriber(final int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription s) {
+            subscription = s;
+            s.request(1);
+        }
+
+        @Override
+        public void onNext(final GeneratedCryptarithm item) {
+            if (count.incrementAndGet() < limit) {
+                subscription.request(1);
+            } else {
+                subscription.cancel();
+                done.countDown();
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+
+        int await() throws InterruptedException {
+            assertTrue(done.await(1, TimeUnit.MINUTES));
+            return count.get();
+        }
+    }
+
+    @Test
+    public void testPublisherGenerate() throws CryptaModelException, InterruptedException {
+        final WordArray words = new WordArray("send", "more", "money", "venus", "earth", "saturn", "uranus");
+        final int expected = generateCount(words);
+        CountSubscriber subscriber = new CountSubscriber(Integer.MAX_VALUE);
+        new CryptaListGenerator(words, config, Cryptagen.LOGGER).publisher().subscribe(subscriber);
+        assertEquals(expected, subscriber.await());
+        subscriber = new CountSubscriber(1);
+        new CryptaListGenerator(words, config, Cryptagen.LOGGER).publisher().subscribe(subscriber);
+        assertEquals(1, subscriber.await());
+    }
+
+    @Test
+    public void testPublisherStop()
+            throws CryptaModelException, InterruptedException, ExecutionException, TimeoutException {
+        final WordArray words = new WordArray("send", "more", "money", "venus", "earth", "saturn", "uranus");
+        assertTrue(generateCount(words) > 1);
+        final PausedGenerator gen = new PausedGenerator(new CryptaListGenerator(words, config, Cryptagen.LOGGER));
+        final CountSubscriber subscriber = new CountSubscriber(1);
+        gen.publisher().subscribe(subscriber);
+        assertEquals(1, subscriber.await());
+        // The cancellation stops the search after the first cryptarithm.
+        assertTrue(gen.getCandidateCount() < candidateCount(words));
+    }
+
+    private void testCheckpoint(final WordArray words) throws CryptaModelException, IOException {
+        final ObjectMapper mapper = new ObjectMapper();
+        final File file = File.createTempFile("cryptagen", ".json");
+        try {
+            final int expected = generateCount(words);
+            config.setCheckpointFile(file);
+            assertEquals(expected, generateCount(words));
+            final GenerateCheckpoint state = mapper.readValue(file, GenerateCheckpoint.class);
+            assertEquals(expected, state.getResults().size());
+            // Every candidate is verified, so the results are only replayed.
+            config.setResume(true);
+            assertEquals(expected, generateCount(words));
+            // The candidates are verified again, but the results are not duplicated.
+            state.setCandidateCount(0);
+            state.getPartitions().clear();
+            mapper.writeValue(file, state);
+            assertEquals(expected, generateCount(words));
+            // The results are found again.
+            state.getResults().clear();
+            mapper.writeValue(file, state);
+            assertEquals(expected, generateCount(words));
+            // The checkpoint of another generation is ignored.
+            state.setFingerprint("");
+            state.setCandidateCount(Long.MAX_VALUE);
+            mapper.writeValue(file, state);
+            assertEquals(expected, generateCount(words));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testCheckpoint() throws CryptaModelException, IOException {
+        testCheckpoint(new WordArray("send", "more", "money", "venus", "earth", "saturn", "uranus"));
+        config.setNthreads(2);
+        testCheckpoint(new WordArray("send", "more", "money", "venus", "earth", "saturn", "uranus"));
+    }
+
+    @Test
+    public void testCheckpointPartitioned() throws CryptaModelException, IOException {
+        config.setGenThreads(2);
+        testCheckpoint(new WordArray("IT", "it", 20, 30));
+    }
+
+    private void testCheckpointDryRun(final WordArray words) throws CryptaModelException, IOException {
+        final ObjectMapper mapper = new ObjectMapper();
+        final File file = File.createTempFile("cryptagen", ".json");
+        try {
+            config.setCheckpointFile(null);
+            config.setResume(false);
+            final int expected = generateCount(words);
+            config.setCheckpointFile(file);
+            config.setDryRun(true);
+            assertEquals(0, generateCount(words));
+            // A dry run verifies no candidate.
+            final GenerateCheckpoint state = mapper.readValue(file, GenerateCheckpoint.class);
+            assertEquals(0, state.getCandidateCount());
+            assertTrue(state.getPartitions().isEmpty());
+            // The checkpoint of a dry run is not resumed by a generation.
+            state.setCandidateCount(Long.MAX_VALUE);
+            mapper.writeValue(file, state);
+            config.setDryRun(false);
+            config.setResume(true);
+            assertEquals(expected, generateCount(words));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testCheckpointDryRun() throws CryptaModelException, IOException {
+        testCheckpointDryRun(new WordArray("send", "more", "money", "venus", "earth", "saturn", "uranus"));
+        config.setGenThreads(2);
+        testCheckpointDryRun(new WordArray("IT", "it", 20, 30));
+    }
+
+    @Test
+    public void testVirtual() throws CryptaModelException {
+        config.setVirtualThreads(true);
+        config.setMaxConcurrency(2);
+        config.setLightModel(true);
+        testGenerate(1, OptionalInt.of(6), new WordArray("send", "much", "more", "money"));
+        config.setGenThreads(2);
+        testGenerate(3, new WordArray("IT", "it", 20, 30), 0);
+    }
+
+    @Test
+    public void testPartitioned1() throws CryptaModelException {
+        config.setGenThreads(3);
+        config.setLightModel(true);
+        testGenerate(1, OptionalInt.of(6), new WordArray("send", "much", "more", "money"));
+        config.setNthreads(2);
+        testGenerate(1, OptionalInt.of(6), new WordArray("send", "much", "more", "money"));
+    }
+
+    @Test
+    public void testPartitioned2() throws CryptaModelException {
+        config.setGenThreads(2);
+        testGenerate(0, OptionalInt.of(11), new WordArray("a", "bb", "ccc", "dddd", "eeeee"));
+        testGenerate(3, new WordArray("IT", "it", 20, 30), 0);
+    }
+
+    @Test
+    public void testPartitionedMult() throws CryptaModelException {
+        config.setGenThreads(4);
+        config.setArithmeticBase(9);
+        testMultGenerateBLH(2, new WordArray("alfred", "e", "neuman"));
+    }
+
+    @Test
+    public void testPartitionedCrossword() throws CryptaModelException {
+        config.setGenThreads(2);
+        config.setGenerateType(GenerateType.CROSS);
+        testGenerate(2, OptionalInt.empty(), new WordArray("A", "B", "CD", "CE", "F", "CF", "CA", "CC", "DE"));
+    }
+
     @Test
     public void testCrossword1() throws CryptaModelException {
         WordArray words = new WordArray("AB", "C", "AC", "AD", "E", "FB", "FD", "G", "EC");
@@ -173,6 +622,19 @@ public class GenerateTest {
         testGenerate(2, OptionalInt.empty(), words);
     }
 
+    @Test
+    public void testMultSymmetry() throws CryptaModelException {
+        // Each multiplication of at least three words is a single candidate up to the commutativity.
+        final WordArray words = new WordArray("ab", "cd", "ef", "gh");
+        config.setGenerateType(GenerateType.MUL);
+        config.setLightModel(true);
+        config.setDryRun(true);
+        config.setRightMemberType(RightMemberType.FREE);
+        testGenerate(0, OptionalInt.of(19), words);
+        config.setRightMemberType(RightMemberType.UNIQUE);
+        testGenerate(0, OptionalInt.of(16), words);
+    }
+
     @Test
     public void testMult1() throws CryptaModelException {
         WordArray words = new WordArray("mad", "man", "asylum");
@@ -8,12 +8,16 @@
  */
 package cryptator;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -97,4 +101,34 @@ public class JsonTest {
         assertNotNull(buildJsonInput(output));
     }
 
+    private List<SolveOutput> solveAll(final int parallelism, final boolean ordered, final String... cryptarithms) {
+        final Stream<SolveInput> inputs = Stream.of(cryptarithms).map(c -> new SolveInput(c, config));
+        try (Stream<SolveOutput> outputs = CryptaJson.solveAll(inputs, parallelism, ordered)) {
+            return outputs.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testSolveAllOrdered() {
+        final String[] cryptarithms = {"send+more=money", "big + cat = lion", "big + cat = big", "two+two=four",
+            "donald + gerald = robert"};
+        final int[] counts = {1, 10, 0, 7, 1};
+        for (int parallelism = 1; parallelism <= 3; parallelism++) {
+            final List<SolveOutput> outputs = solveAll(parallelism, true, cryptarithms);
+            assertEquals(cryptarithms.length, outputs.size());
+            for (int i = 0; i < cryptarithms.length; i++) {
+                assertEquals(cryptarithms[i], outputs.get(i).getCryptarithm());
+                assertEquals(counts[i], outputs.get(i).getSolutions().size());
+            }
+        }
+    }
+
+    @Test
+    public void testSolveAllUnordered() {
+        final List<SolveOutput> outputs = solveAll(4, false, "send+more=money", "big + cat = lion",
+                "big + cat = big");
+        assertEquals(3, outputs.size());
+        assertEquals(11, outputs.stream().mapToInt(o -> o.getSolutions().size()).sum());
+    }
+
 }
@@ -0,0 +1,97 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import cryptator.parser.CryptaParserException;
+import cryptator.parser.CryptaParserWrapper;
+import cryptator.solver.CryptaModelException;
+import cryptator.solver.CryptaSolver;
+import cryptator.solver.CryptaSolverException;
+import cryptator.specs.ICryptaNode;
+
+public class ParallelTest {
+
+    private final CryptaSolver solver = new CryptaSolver();
+
+    private final CryptaSolvingTester t = new CryptaSolvingTester(solver);
+
+    private final CryptaSolvingTester seq = new CryptaSolvingTester(false);
+
+    public ParallelTest() {
+    }
+
+    @BeforeClass
+    public static void configureTestLoggers() {
+        JULogUtil.configureTestLoggers();
+    }
+
+    @Before
+    public void setDefaultConfig() {
+        t.reset();
+        seq.reset();
+        solver.setParallelism(4);
+    }
+
+    private void testSameCount(final String cryptarithm) throws CryptaModelException, CryptaSolverException {
+        seq.config = t.config;
+        assertEquals(cryptarithm, seq.testSolve(cryptarithm, true), t.testSolve(cryptarithm, true));
+    }
+
+    private List<String> solve(final String cryptarithm)
+            throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        final ICryptaNode node = new CryptaParserWrapper().parse(cryptarithm);
+        final List<String> solutions = new ArrayList<>();
+        solver.solve(node, t.config, s -> solutions.add(s.toString()));
+        return solutions;
+    }
+
+    @Test
+    public void testSendMoreMoney() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("send+more=money", "donald + gerald = robert");
+        t.testUNSAT("big + cat = big");
+    }
+
+    @Test
+    public void testSameCount() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        testSameCount("big + cat = lion");
+        testSameCount("ab*c=de");
+        t.config.setAllowLeadingZeros(true);
+        testSameCount("big + cat = lion");
+    }
+
+    @Test
+    public void testDeterministicOrder() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        final List<String> expected = solve("big + cat = lion");
+        assertEquals(expected, solve("big + cat = lion"));
+        solver.limitSolution(5);
+        assertEquals(expected.subList(0, 5), solve("big + cat = lion"));
+    }
+
+    @Test
+    public void testMultiplication() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("cinq*six=trente");
+    }
+
+    @Test
+    public void testAssignTalos() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.config.setAssignments(Map.of("a", "1", "e", "3"));
+        t.testUNIQUE("alpos + les + otos = talos");
+    }
+
+}
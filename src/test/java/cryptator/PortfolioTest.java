@@ -0,0 +1,73 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import cryptator.parser.CryptaParserException;
+import cryptator.solver.CryptaModelException;
+import cryptator.solver.CryptaSolverException;
+import cryptator.solver.PortfolioSolver;
+
+public class PortfolioTest {
+
+    private final CryptaSolvingTester t = new CryptaSolvingTester(new PortfolioSolver());
+
+    public PortfolioTest() {
+    }
+
+    @BeforeClass
+    public static void configureTestLoggers() {
+        JULogUtil.configureTestLoggers();
+    }
+
+    @Before
+    public void setDefaultConfig() {
+        t.reset();
+    }
+
+    @Test
+    public void testSendMoreMoney() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("send+more=money", "donald + gerald = robert");
+        t.testUNSAT("big + cat = big");
+    }
+
+    @Test
+    public void testSolutionLimit() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.solver.limitSolution(5);
+        t.testSAT("big + cat = lion", 5);
+    }
+
+    @Test
+    public void testBigNum() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("ARISTOCRATIC + PRESCRIPTION + PROSOPOPOEIA + PROTECTORATE = TRANSOCEANIC");
+    }
+
+    @Test
+    public void testMultiplication() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        // The bignum configurations do not support the multiplication.
+        t.testUNIQUE("cinq*six=trente");
+    }
+
+    @Test
+    public void testAssignTalos() throws CryptaParserException, CryptaSolverException, CryptaModelException {
+        t.config.setAssignments(Map.of("a", "1", "e", "3"));
+        t.testUNIQUE("alpos + les + otos = talos");
+    }
+
+    @Test(expected = CryptaModelException.class)
+    public void testInvalidAssign() throws CryptaParserException, CryptaSolverException, CryptaModelException {
+        t.config.setAssignments(Map.of("z", "1"));
+        t.testUNIQUE("alpos + les + otos = talos");
+    }
+}
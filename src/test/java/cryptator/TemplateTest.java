@@ -0,0 +1,105 @@
+/*
+ * This file is part of cryptator, https://github.com/arnaud-m/cryptator
+ *
+ * Copyright (c) 2021-2026, Université Côte d'Azur. All rights reserved.
+ *
+ * Licensed under the BSD 3-clause license.
+ * See LICENSE file in the project root for full license information.
+ */
+package cryptator;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import cryptator.parser.CryptaParserException;
+import cryptator.solver.CryptaModelException;
+import cryptator.solver.CryptaSolverException;
+import cryptator.solver.CryptaTemplateSolver;
+
+public class TemplateTest {
+
+    private final CryptaTemplateSolver solver = new CryptaTemplateSolver();
+
+    private final CryptaSolvingTester t = new CryptaSolvingTester(solver);
+
+    private final CryptaSolvingTester cp = new CryptaSolvingTester(false);
+
+    public TemplateTest() {
+    }
+
+    @BeforeClass
+    public static void configureTestLoggers() {
+        JULogUtil.configureTestLoggers();
+    }
+
+    @Before
+    public void setDefaultConfig() {
+        t.reset();
+        cp.reset();
+    }
+
+    private void testSameCount(final String... cryptarithms) throws CryptaModelException, CryptaSolverException {
+        cp.config = t.config;
+        for (String cryptarithm : cryptarithms) {
+            assertEquals(cryptarithm, cp.testSolve(cryptarithm, true), t.testSolve(cryptarithm, true));
+        }
+    }
+
+    @Test
+    public void testSameShape() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.testUNIQUE("send+more=money");
+        testSameCount("big+cat=lion", "two+two=four", "send+more=money");
+        assertEquals(2, solver.getTemplateCount());
+    }
+
+    @Test
+    public void testBigCatLion() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.solver.limitSolution(5);
+        t.testSAT("big + cat = lion", 5);
+        t.testSAT("big + cat = lion", 5);
+        t.solver.limitSolution(0);
+        t.testUNSAT("big + cat = big", "aaa + bbb = aaa");
+    }
+
+    @Test
+    public void testBase() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.config.setArithmeticBase(2);
+        t.testUNIQUE("aaaaa + ab = abbbba");
+        t.config.setArithmeticBase(11);
+        t.testUNIQUE("UNITED + STATES = AMERICA");
+        t.config.setArithmeticBase(16);
+        testSameCount("c + c = ba");
+    }
+
+    @Test
+    public void testOccurrences() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        t.config.setArithmeticBase(4);
+        testSameCount("ab+cd=efg", "ab+ab=bba", "ab+cd=aab", "ab+cd=efg");
+        assertEquals(1, solver.getTemplateCount());
+    }
+
+    @Test
+    public void testMultiplication() throws CryptaParserException, CryptaModelException, CryptaSolverException {
+        testSameCount("ab*c=de", "ab*ab=cab", "ab*c=dc");
+    }
+
+    @Test
+    public void testAssignTalos() throws CryptaParserException, CryptaSolverException, CryptaModelException {
+        t.config.setAssignments(Map.of("a", "1", "e", "3"));
+        t.testUNIQUE("alpos + les + otos = talos");
+        t.config.setAssignments(Map.of("a", "2", "e", "3"));
+        t.testUNSAT("alpos + les + otos = talos");
+    }
+
+    @Test(expected = CryptaModelException.class)
+    public void testInvalidAssign() throws CryptaParserException, CryptaSolverException, CryptaModelException {
+        t.config.setAssignments(Map.of("z", "1"));
+        t.testUNIQUE("alpos + les + otos = talos");
+    }
+
+}
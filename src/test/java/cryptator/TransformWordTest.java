@@ -8,6 +8,7 @@
  */
 package cryptator;
 
+import static cryptator.gen.TransformWord.normalize;
 import static cryptator.gen.TransformWord.removeDashes;
 import static cryptator.gen.TransformWord.removeWhitespaces;
 import static cryptator.gen.TransformWord.stripAccents;
@@ -60,6 +61,22 @@ public class TransformWordTest {
         assertEquals("szescdziesiatdziewiec", translateAndNormalize(ctryCd, lang, 69));
     }
 
+    @Test
+    public void testNormalizeRange() {
+        final String[] words = translateAndNormalize("FR", "fr", 15, 25);
+        assertEquals(10, words.length);
+        for (int i = 0; i < words.length; i++) {
+            assertEquals(translateAndNormalize("FR", "fr", 15 + i), words[i]);
+        }
+        assertEquals("dixsept", words[2]);
+    }
+
+    @Test
+    public void testNormalize() {
+        assertEquals("dixsept", normalize("Dix- sept"));
+        assertEquals("aeiou", normalize("\u00C0 \u00E9\t\u00EE-\u00F6\u200B\u00FA"));
+    }
+
     @Test
     public void testStripAccents() {
         assertEquals("aaaaeeeiiiooouuu", stripAccents("ãáàäéèëíìïóòöúùü"));
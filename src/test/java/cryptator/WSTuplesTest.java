@@ -23,6 +23,9 @@ public class WSTuplesTest {
         WordSumTuplesBuilder builder = new WordSumTuplesBuilder(base, values);
         final Tuples tuples = builder.buildTuples();
         assertEquals(expected, tuples.nbTuples());
+        final Tuples cached = WordSumTuplesBuilder.getTuples(base, values);
+        assertEquals(expected, cached.nbTuples());
+        assertEquals(expected, WordSumTuplesBuilder.getTuples(base, values).nbTuples());
     }
 
     @Test
@@ -65,4 +68,21 @@ public class WSTuplesTest {
         }
     }
 
+    @Test
+    public void testTuples6() {
+        int[] values = {16, 1, 9, 2, 10, 8};
+        for (int base : bases) {
+            testTuples(18, base, values);
+        }
+    }
+
+    @Test
+    public void testTuples7() {
+        // The word sums do not fit in a long.
+        int[] values = {1, 2, 8, 9, 10, 16, 24, 24};
+        final Tuples tuples = new WordSumTuplesBuilder(16, values.clone()).buildTuples();
+        assertEquals(tuples.nbTuples(), WordSumTuplesBuilder.getTuples(16, values).nbTuples());
+        assertEquals(tuples.nbTuples(), new WordSumTuplesBuilder(2, values.clone()).buildTuples().nbTuples());
+    }
+
 }
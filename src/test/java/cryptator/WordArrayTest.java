@@ -12,11 +12,18 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 
 import cryptator.cmd.WordArray;
+import cryptator.cmd.WordListReader;
 
 public class WordArrayTest {
 
@@ -44,4 +51,79 @@ public class WordArrayTest {
         assertEquals(1, w.getLB());
         assertEquals(3, w.getUB());
     }
+
+    @Test
+    public void testWordArray4() throws IOException {
+        final WordArray expected = new WordArray("IT", "it", 0, 30);
+        final Path dir = Files.createTempDirectory("spellout");
+        try {
+            assertArrayEquals(Arrays.copyOf(expected.getWords(), 11),
+                    new WordArray("IT", "it", 0, 10, dir.toFile()).getWords());
+            // The memo is extended, then read.
+            assertArrayEquals(expected.getWords(), new WordArray("IT", "it", 0, 30, dir.toFile()).getWords());
+            assertArrayEquals(Arrays.copyOf(expected.getWords(), 21),
+                    new WordArray("IT", "it", 0, 20, dir.toFile()).getWords());
+        } finally {
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testWordListReader1() {
+        final WordListReader reader = new WordListReader().withLengthFilter(2, 4).withSymbolFilter(3);
+        for (String word : new String[] {"a", "bb", "ccc", "bb", "abcd", "abca", "ddddd"}) {
+            reader.add(word);
+        }
+        assertEquals(Arrays.asList("bb", "ccc", "abca"), reader.getWords());
+        assertEquals(3, reader.getRejectedCount());
+        assertEquals(1, reader.getDuplicateCount());
+    }
+
+    @Test
+    public void testWordListReader2() {
+        final WordListReader reader = new WordListReader().withNormalization();
+        reader.add("Élise");
+        reader.add("elise");
+        reader.add("Jean-Paul");
+        assertEquals(Arrays.asList("elise", "jeanpaul"), reader.getWords());
+        assertEquals(1, reader.getDuplicateCount());
+    }
+
+    @Test
+    public void testWordListReader3() throws IOException {
+        final StringBuilder b = new StringBuilder("\uFEFFsend more\n");
+        // The file is larger than the decoded buffer.
+        for (int i = 0; i < 5000; i++) {
+            b.append(i % 2 == 0 ? "été\t" : "money\r\n");
+        }
+        b.append("ça");
+        final Path file = Files.createTempFile("words", ".txt");
+        try {
+            Files.write(file, b.toString().getBytes(StandardCharsets.UTF_8));
+            final WordListReader reader = new WordListReader();
+            reader.read(file);
+            final List<String> words = reader.getWords();
+            assertEquals(Arrays.asList("send", "more", "été", "money", "ça"), words);
+            assertEquals(4998, reader.getDuplicateCount());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testWordListReader4() throws IOException {
+        final Path file = Files.createTempFile("words", ".txt");
+        try {
+            final WordListReader reader = new WordListReader();
+            reader.read(file);
+            assertEquals(0, reader.size());
+        } finally {
+            Files.delete(file);
+        }
+    }
 }